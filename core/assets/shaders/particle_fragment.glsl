@@ -0,0 +1,13 @@
+#version 120
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+uniform sampler2D u_texture;
+uniform float u_glow;
+
+void main() {
+    vec4 c = v_color * texture2D(u_texture, v_texCoords);
+    // u_glow > 0: цвет умножается на прозрачность для смешивания GL_ONE, GL_ONE_MINUS_SRC_ALPHA.
+    // При u_glow = 2 один проход дает rgb * a * 2 + dst * (1 - a) - то же, что обычный проход и затем аддитивный
+    gl_FragColor = u_glow > 0.0 ? vec4(c.rgb * c.a * u_glow, c.a) : c;
+}
@@ -0,0 +1,34 @@
+#version 120
+
+attribute vec2 a_start;
+attribute vec2 a_velocity;
+attribute vec2 a_corner;
+attribute vec2 a_texCoord0;
+attribute vec2 a_life;
+attribute float a_ramp;
+
+uniform mat4 u_projTrans;
+uniform float u_time;
+uniform float u_halfSize;
+uniform sampler2D u_ramps;
+uniform float u_rampRows;
+uniform float u_rampResolution;
+uniform float u_sizeRange;
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+
+void main()
+{
+    float age = u_time - a_life.x;
+    float t = clamp(age / a_life.y, 0.0, 1.0);
+    // Центры крайних пикселей рампы соответствуют началу и концу жизни
+    float u = (t * (u_rampResolution - 1.0) + 0.5) / u_rampResolution;
+    // Верхняя половина текстуры - цвета, нижняя - масштабы
+    float rows = u_rampRows * 2.0;
+    v_color = texture2DLod(u_ramps, vec2(u, (a_ramp + 0.5) / rows), 0.0);
+    float scale = texture2DLod(u_ramps, vec2(u, (u_rampRows + a_ramp + 0.5) / rows), 0.0).r * u_sizeRange;
+    vec2 center = a_start + a_velocity * age;
+    v_texCoords = a_texCoord0;
+    gl_Position = u_projTrans * vec4(center + a_corner * (u_halfSize * scale), 0.0, 1.0);
+}
@@ -1,6 +1,7 @@
 package com.star.app.game;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -9,6 +10,7 @@ import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.StringBuilder;
+import com.star.app.game.collisions.CollisionStats;
 import com.star.app.game.controllers.GameController;
 import com.star.app.screen.utils.Assets;
 
@@ -51,6 +53,10 @@ public class WorldRenderer {
      * Программы для создания эффектов
      */
     private ShaderProgram shaderProgram;
+    /**
+     * Признак вывода статистики проверки столкновений (переключается клавишей F3)
+     */
+    private boolean showCollisionStats;
 
     /**
      * Создание объекта
@@ -97,8 +103,12 @@ public class WorldRenderer {
      * -выключаем шейдер
      * -рисуем информацию о скилах героя
      * -выводим информацию о переходе на новый уровень {@link #buildNewLevelText()}
+     * -если включено, выводим статистику проверки столкновений {@link #renderCollisionStats()}
      */
     public void render() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            showCollisionStats = !showCollisionStats;
+        }
         frameBuffer.begin();
 
         ScreenUtils.clear(0, 0.2f, 0.5f, 1);
@@ -138,6 +148,9 @@ public class WorldRenderer {
         gc.getHero().renderGUI(batch, font32);
 
         buildNewLevelText();
+        if (showCollisionStats) {
+            renderCollisionStats();
+        }
         batch.end();
 
         gc.getStage().draw();
@@ -162,4 +175,42 @@ public class WorldRenderer {
                 SCREEN_WIDTH, center, false);
         }
     }
+
+    /**
+     * Метод для вывода статистики проверки столкновений {@link CollisionStats}
+     * Для каждой фазы выводятся средние за окно количество кандидатов, точных проверок и столкновений,
+     * а также минимальное, среднее время и 99-й процентиль времени в миллисекундах.
+     * Ниже выводится статистика пулов объектов {@link GameController#appendPoolStats}
+     */
+    private void renderCollisionStats() {
+        CollisionStats stats = gc.getCollisionStats();
+        stringBuilder.clear();
+        for (int p = 0; p < CollisionStats.PHASE_COUNT; p++) {
+            stringBuilder.append(CollisionStats.getName(p))
+                .append(" c:").append((int) stats.getAvgCandidates(p))
+                .append(" t:").append((int) stats.getAvgTests(p))
+                .append(" h:").append((int) stats.getAvgHits(p))
+                .append(" ms:");
+            appendMillis(stats.getMinTime(p));
+            stringBuilder.append("/");
+            appendMillis(stats.getAvgTime(p));
+            stringBuilder.append("/");
+            appendMillis(stats.getP99Time(p));
+            stringBuilder.append("\n");
+        }
+        gc.appendPoolStats(stringBuilder);
+        font32.draw(batch, stringBuilder, 380, SCREEN_HEIGHT - 20);
+    }
+
+    /**
+     * Добавление времени с точностью до сотых долей миллисекунды
+     */
+    private void appendMillis(float millis) {
+        int hundredths = Math.round(millis * 100.0f);
+        stringBuilder.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) {
+            stringBuilder.append('0');
+        }
+        stringBuilder.append(hundredths % 100);
+    }
 }
@@ -0,0 +1,25 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+/**
+ * Фильтр по слоям {@link CollisionLayers}: пропускает объекты, слой которых входит в маску
+ */
+public class CategoryFilter implements QueryFilter {
+    /**
+     * Биты допустимых слоев
+     */
+    private final int mask;
+
+    /**
+     * @param mask биты допустимых слоев
+     */
+    public CategoryFilter(int mask) {
+        this.mask = mask;
+    }
+
+    @Override
+    public boolean accept(Collidable item) {
+        return (item.getCategory() & mask) != 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+import static com.star.app.game.collisions.CollisionLayers.COUNT;
+import static com.star.app.game.collisions.CollisionLayers.index;
+
+/**
+ * Таблица обработчиков столкновений по парам слоев.
+ * Заменяет цепочки проверок типа владельца и instanceof: реакция выбирается по номерам слоев объектов
+ */
+public class CollisionDispatcher {
+    /**
+     * Обработчики для каждой пары слоев
+     */
+    private final CollisionHandler[][] handlers;
+    /**
+     * Признак того, что обработчик пары зарегистрирован в обратном порядке и объекты нужно поменять местами
+     */
+    private final boolean[][] swapped;
+
+    public CollisionDispatcher() {
+        this.handlers = new CollisionHandler[COUNT][COUNT];
+        this.swapped = new boolean[COUNT][COUNT];
+    }
+
+    /**
+     * Регистрация обработчика для пары слоев (регистрируется сразу для обоих порядков)
+     *
+     * @param categoryA слой первого объекта
+     * @param categoryB слой второго объекта
+     * @param handler   обработчик, который получит объекты в порядке (categoryA, categoryB)
+     */
+    public void register(int categoryA, int categoryB, CollisionHandler handler) {
+        int a = index(categoryA);
+        int b = index(categoryB);
+        handlers[a][b] = handler;
+        swapped[a][b] = false;
+        if (a != b) {
+            handlers[b][a] = handler;
+            swapped[b][a] = true;
+        }
+    }
+
+    /**
+     * Вызов обработчика столкновения.
+     * Предполагается, что пара уже прошла проверку {@link CollisionLayers#canCollide} и геометрическую проверку
+     *
+     * @return был ли найден обработчик для пары
+     */
+    public boolean dispatch(Collidable a, Collidable b) {
+        int ia = index(a.getCategory());
+        int ib = index(b.getCategory());
+        CollisionHandler handler = handlers[ia][ib];
+        if (handler == null) {
+            return false;
+        }
+        if (swapped[ia][ib]) {
+            handler.onCollision(b, a);
+        } else {
+            handler.onCollision(a, b);
+        }
+        return true;
+    }
+
+    /**
+     * Номер пары слоев (тип события столкновения)
+     *
+     * @param a первый объект
+     * @param b второй объект
+     */
+    public static int pairType(Collidable a, Collidable b) {
+        return index(a.getCategory()) * COUNT + index(b.getCategory());
+    }
+
+    /**
+     * Вызов обработчика для пачки событий одного типа.
+     * Обработчик и порядок объектов определяются один раз на всю пачку
+     *
+     * @param type   номер пары слоев {@link #pairType}
+     * @param first  первые объекты пар
+     * @param second вторые объекты пар
+     * @param from   номер первого события пачки
+     * @param to     номер события, следующего за последним событием пачки
+     */
+    public void dispatchBatch(int type, Collidable[] first, Collidable[] second, int from, int to) {
+        int ia = type / COUNT;
+        int ib = type % COUNT;
+        CollisionHandler handler = handlers[ia][ib];
+        if (handler == null) {
+            return;
+        }
+        if (swapped[ia][ib]) {
+            for (int i = from; i < to; i++) {
+                handler.onCollision(second[i], first[i]);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                handler.onCollision(first[i], second[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+import java.util.Arrays;
+
+/**
+ * Очередь событий столкновений.
+ * Проход обнаружения только записывает пары столкнувшихся объектов в заранее выделенный буфер,
+ * а реакция на столкновения (урон, эффекты, звуки, текст) выполняется отдельным проходом {@link #process}.
+ * Так во время обхода пулов объектов не создаются новые объекты, а одинаковые эффекты одного кадра можно объединить
+ */
+public class CollisionEventQueue {
+    /**
+     * Начальная вместимость буфера
+     */
+    private static final int INITIAL_CAPACITY = 128;
+    /**
+     * Тип события (номер пары слоев {@link CollisionDispatcher#pairType})
+     */
+    private int[] types;
+    /**
+     * Первые объекты пар
+     */
+    private Collidable[] first;
+    /**
+     * Вторые объекты пар
+     */
+    private Collidable[] second;
+    /**
+     * Количество записанных событий
+     */
+    private int size;
+
+    public CollisionEventQueue() {
+        this.types = new int[INITIAL_CAPACITY];
+        this.first = new Collidable[INITIAL_CAPACITY];
+        this.second = new Collidable[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return количество записанных событий
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Запись события столкновения (при нехватке места буфер увеличивается в 2 раза).
+     * Предполагается, что пара уже прошла проверку {@link CollisionLayers#canCollide} и геометрическую проверку
+     *
+     * @param a первый объект
+     * @param b второй объект
+     */
+    public void add(Collidable a, Collidable b) {
+        if (size == types.length) {
+            types = Arrays.copyOf(types, size * 2);
+            first = Arrays.copyOf(first, size * 2);
+            second = Arrays.copyOf(second, size * 2);
+        }
+        types[size] = CollisionDispatcher.pairType(a, b);
+        first[size] = a;
+        second[size] = b;
+        size++;
+    }
+
+    /**
+     * Обработка всех записанных событий в порядке записи.
+     * Идущие подряд события одного типа (их дает каждый отдельный проход обнаружения) обрабатываются пачкой:
+     * обработчик пары слоев выбирается один раз на всю пачку {@link CollisionDispatcher#dispatchBatch}.
+     * После обработки очередь очищается
+     *
+     * @param dispatcher таблица обработчиков
+     */
+    public void process(CollisionDispatcher dispatcher) {
+        int start = 0;
+        while (start < size) {
+            int type = types[start];
+            int end = start + 1;
+            while (end < size && types[end] == type) {
+                end++;
+            }
+            dispatcher.dispatchBatch(type, first, second, start, end);
+            start = end;
+        }
+        clear();
+    }
+
+    /**
+     * Очистка очереди (ссылки на объекты обнуляются, чтобы не удерживать их)
+     */
+    public void clear() {
+        Arrays.fill(first, 0, size, null);
+        Arrays.fill(second, 0, size, null);
+        size = 0;
+    }
+}
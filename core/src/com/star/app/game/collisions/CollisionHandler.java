@@ -0,0 +1,17 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+/**
+ * Обработчик столкновения пары объектов из определенных слоев
+ */
+public interface CollisionHandler {
+    /**
+     * Реакция на столкновение.
+     * Объекты передаются в том порядке слоев, в котором обработчик был зарегистрирован в {@link CollisionDispatcher}
+     *
+     * @param a объект первого слоя
+     * @param b объект второго слоя
+     */
+    void onCollision(Collidable a, Collidable b);
+}
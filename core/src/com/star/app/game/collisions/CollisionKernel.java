@@ -0,0 +1,310 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.Circle;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.interfacies.Pushable;
+
+import java.util.Arrays;
+
+/**
+ * Пакетная проверка столкновений над упакованными массивами (structure of arrays).
+ * Центры и радиусы кругов (астероидов) и координаты точек (пуль) хранятся в отдельных массивах float,
+ * проверки выполняются простыми циклами без обращения к объектам и без вызовов методов,
+ * которые JIT-компилятор может развернуть и векторизовать.
+ * Круги и точки загружаются один раз за кадр, результаты - номера кругов для каждой точки
+ * Пространственная сетка не используется: каждая точка проверяется со всеми кругами (точки * круги проверок),
+ * тогда как проверка через сетку {@link SpatialHashGrid} смотрит только соседние объекты.
+ * Поэтому ядро выгодно при небольшом количестве кругов, а при тысячах пуль и многих астероидах
+ * сетка остается быстрее - режим стоит включать только после замера {@link CollisionStats}
+ */
+public class CollisionKernel {
+    /**
+     * Начальная вместимость массивов
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * Признак отсутствия попадания
+     */
+    public static final int NO_HIT = -1;
+    /**
+     * Объекты-круги в порядке загрузки
+     */
+    private Object[] circles;
+    /**
+     * Координаты центров кругов по оси х
+     */
+    private float[] circleX;
+    /**
+     * Координаты центров кругов по оси у
+     */
+    private float[] circleY;
+    /**
+     * Радиусы кругов
+     */
+    private float[] circleR;
+    /**
+     * Количество кругов
+     */
+    private int circleCount;
+    /**
+     * Объекты-точки в порядке добавления
+     */
+    private Object[] points;
+    /**
+     * Текущие координаты точек по оси х
+     */
+    private float[] pointX;
+    /**
+     * Текущие координаты точек по оси у
+     */
+    private float[] pointY;
+    /**
+     * Координаты точек на прошлом кадре по оси х
+     */
+    private float[] prevX;
+    /**
+     * Координаты точек на прошлом кадре по оси у
+     */
+    private float[] prevY;
+    /**
+     * Количество точек
+     */
+    private int pointCount;
+    /**
+     * Номер круга, в который попала каждая точка, или {@link #NO_HIT}
+     */
+    private int[] hits;
+    /**
+     * Доля пути, на которой точка впервые коснулась круга (для непрерывной проверки)
+     */
+    private float[] hitT;
+
+    public CollisionKernel() {
+        this.circles = new Object[INITIAL_CAPACITY];
+        this.circleX = new float[INITIAL_CAPACITY];
+        this.circleY = new float[INITIAL_CAPACITY];
+        this.circleR = new float[INITIAL_CAPACITY];
+        this.points = new Object[INITIAL_CAPACITY];
+        this.pointX = new float[INITIAL_CAPACITY];
+        this.pointY = new float[INITIAL_CAPACITY];
+        this.prevX = new float[INITIAL_CAPACITY];
+        this.prevY = new float[INITIAL_CAPACITY];
+        this.hits = new int[INITIAL_CAPACITY];
+        this.hitT = new float[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Загрузка кругов: зоны поражения активных объектов пула копируются в упакованные массивы в порядке пула
+     *
+     * @param pool пул объектов с зоной поражения
+     */
+    public void loadCircles(ObjectPool<? extends Pushable> pool) {
+        Arrays.fill(circles, 0, circleCount, null);
+        circleCount = pool.getActiveCount();
+        if (circleCount > circleX.length) {
+            int capacity = Math.max(circleCount, circleX.length * 2);
+            circles = new Object[capacity];
+            circleX = new float[capacity];
+            circleY = new float[capacity];
+            circleR = new float[capacity];
+        }
+        for (int i = 0; i < circleCount; i++) {
+            Pushable item = pool.getActive(i);
+            Circle c = item.getHitArea();
+            circles[i] = item;
+            circleX[i] = c.x;
+            circleY[i] = c.y;
+            circleR[i] = c.radius;
+        }
+    }
+
+    /**
+     * Очистка списка точек перед добавлением точек нового кадра
+     */
+    public void clearPoints() {
+        Arrays.fill(points, 0, pointCount, null);
+        pointCount = 0;
+    }
+
+    /**
+     * Добавление точки
+     *
+     * @param item объект
+     * @param x    текущая координата х
+     * @param y    текущая координата у
+     * @param px   координата х на прошлом кадре
+     * @param py   координата у на прошлом кадре
+     */
+    public void addPoint(Object item, float x, float y, float px, float py) {
+        if (pointCount == pointX.length) {
+            int capacity = pointCount * 2;
+            points = Arrays.copyOf(points, capacity);
+            pointX = Arrays.copyOf(pointX, capacity);
+            pointY = Arrays.copyOf(pointY, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            hits = new int[capacity];
+            hitT = new float[capacity];
+        }
+        points[pointCount] = item;
+        pointX[pointCount] = x;
+        pointY[pointCount] = y;
+        prevX[pointCount] = px;
+        prevY[pointCount] = py;
+        pointCount++;
+    }
+
+    /**
+     * Проверка попадания всех точек в круги {@link #pointsInCircles(int, int)}
+     */
+    public void pointsInCircles() {
+        pointsInCircles(0, pointCount);
+    }
+
+    /**
+     * Проверка попадания точек в круги (аналог {@link Circle#contains}).
+     * Внешний цикл идет по кругам с конца, внутренний - по точкам, поэтому для точки остается
+     * первый в порядке загрузки круг, который ее содержит.
+     * Метод меняет только результаты точек из диапазона, поэтому разные диапазоны можно обрабатывать параллельно
+     *
+     * @param from номер первой точки
+     * @param to   номер точки, следующей за последней
+     */
+    public void pointsInCircles(int from, int to) {
+        float[] px = pointX;
+        float[] py = pointY;
+        int[] result = hits;
+        Arrays.fill(result, from, to, NO_HIT);
+        for (int c = circleCount - 1; c >= 0; c--) {
+            float cx = circleX[c];
+            float cy = circleY[c];
+            float r2 = circleR[c] * circleR[c];
+            for (int j = from; j < to; j++) {
+                float dx = px[j] - cx;
+                float dy = py[j] - cy;
+                if (dx * dx + dy * dy <= r2) {
+                    result[j] = c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Непрерывная проверка для всех точек {@link #segmentsVsCircles(int, int)}
+     */
+    public void segmentsVsCircles() {
+        segmentsVsCircles(0, pointCount);
+    }
+
+    /**
+     * Непрерывная проверка: для каждой точки ищется круг, которого отрезок от прошлой позиции до текущей
+     * касается раньше всего (аналог {@link SweptCollision#segmentCircle}).
+     * Метод меняет только результаты точек из диапазона, поэтому разные диапазоны можно обрабатывать параллельно
+     *
+     * @param from номер первой точки
+     * @param to   номер точки, следующей за последней
+     */
+    public void segmentsVsCircles(int from, int to) {
+        float[] x0 = prevX;
+        float[] y0 = prevY;
+        float[] x1 = pointX;
+        float[] y1 = pointY;
+        int[] result = hits;
+        float[] best = hitT;
+        Arrays.fill(result, from, to, NO_HIT);
+        Arrays.fill(best, from, to, Float.MAX_VALUE);
+        for (int c = 0; c < circleCount; c++) {
+            float cx = circleX[c];
+            float cy = circleY[c];
+            float r2 = circleR[c] * circleR[c];
+            for (int j = from; j < to; j++) {
+                float fx = x0[j] - cx;
+                float fy = y0[j] - cy;
+                float k = fx * fx + fy * fy - r2;
+                float t;
+                if (k <= 0.0f) {
+                    t = 0.0f;
+                } else {
+                    float dx = x1[j] - x0[j];
+                    float dy = y1[j] - y0[j];
+                    float a = dx * dx + dy * dy;
+                    float b = fx * dx + fy * dy;
+                    float discriminant = b * b - a * k;
+                    if (a == 0.0f || b >= 0.0f || discriminant < 0.0f) {
+                        continue;
+                    }
+                    t = (-b - (float) Math.sqrt(discriminant)) / a;
+                    if (t > 1.0f) {
+                        continue;
+                    }
+                }
+                if (t < best[j]) {
+                    best[j] = t;
+                    result[j] = c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Поиск кругов, пересекающихся с заданным кругом (аналог {@link Circle#overlaps})
+     *
+     * @param x      координата центра по оси х
+     * @param y      координата центра по оси у
+     * @param radius радиус
+     * @param out    массив для номеров найденных кругов (не меньше {@link #getCircleCount()})
+     * @return количество найденных кругов
+     */
+    public int overlappingCircles(float x, float y, float radius, int[] out) {
+        int found = 0;
+        for (int c = 0; c < circleCount; c++) {
+            float dx = circleX[c] - x;
+            float dy = circleY[c] - y;
+            float sum = circleR[c] + radius;
+            if (dx * dx + dy * dy < sum * sum) {
+                out[found++] = c;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return количество загруженных кругов
+     */
+    public int getCircleCount() {
+        return circleCount;
+    }
+
+    /**
+     * @return количество добавленных точек
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * @param index номер точки
+     * @return номер круга, в который попала точка, или {@link #NO_HIT}
+     */
+    public int getHit(int index) {
+        return hits[index];
+    }
+
+    /**
+     * @param index номер круга
+     * @return объект-круг
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getCircle(int index) {
+        return (T) circles[index];
+    }
+
+    /**
+     * @param index номер точки
+     * @return объект-точка
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPoint(int index) {
+        return (T) points[index];
+    }
+}
@@ -0,0 +1,61 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+/**
+ * Слои столкновений.
+ * Каждый слой - отдельный бит, поэтому проверка "могут ли два объекта столкнуться" сводится к одному побитовому И
+ * и выполняется до любых геометрических проверок
+ */
+public final class CollisionLayers {
+    /**
+     * Герой
+     */
+    public static final int HERO = 1;
+    /**
+     * Вражеский корабль
+     */
+    public static final int BOT = 1 << 1;
+    /**
+     * Главный противник
+     */
+    public static final int BOSS = 1 << 2;
+    /**
+     * Астероид
+     */
+    public static final int ASTEROID = 1 << 3;
+    /**
+     * Пуля героя
+     */
+    public static final int HERO_BULLET = 1 << 4;
+    /**
+     * Пуля вражеского корабля
+     */
+    public static final int BOT_BULLET = 1 << 5;
+    /**
+     * Бонус
+     */
+    public static final int POWER_UP = 1 << 6;
+    /**
+     * Количество слоев (размер таблицы обработчиков {@link CollisionDispatcher})
+     */
+    public static final int COUNT = 7;
+
+    private CollisionLayers() {
+    }
+
+    /**
+     * Проверка, может ли объект a столкнуться с объектом b
+     */
+    public static boolean canCollide(Collidable a, Collidable b) {
+        return (a.getMask() & b.getCategory()) != 0;
+    }
+
+    /**
+     * @param category бит слоя
+     * @return порядковый номер слоя
+     */
+    public static int index(int category) {
+        return Integer.numberOfTrailingZeros(category);
+    }
+}
@@ -0,0 +1,294 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Статистика работы проверки столкновений.
+ * Для каждой фазы за кадр считаются пары-кандидаты широкой фазы, точные (геометрические) проверки,
+ * найденные столкновения и затраченное время.
+ * По последним {@link #WINDOW} кадрам вычисляются минимум, среднее и 99-й процентиль времени,
+ * а также средние значения счетчиков
+ */
+public class CollisionStats {
+    /**
+     * Столкновения астероидов с кораблями
+     */
+    public static final int BOOM = 0;
+    /**
+     * Столкновения астероидов между собой
+     */
+    public static final int ASTEROIDS = 1;
+    /**
+     * Попадания пуль в астероиды
+     */
+    public static final int BULLET_ASTEROID = 2;
+    /**
+     * Попадания пуль в корабли
+     */
+    public static final int BULLET_SHIP = 3;
+    /**
+     * Подбор бонусов
+     */
+    public static final int POWER_UPS = 4;
+    /**
+     * Столкновения кораблей между собой
+     */
+    public static final int SHIPS = 5;
+    /**
+     * Реакция на столкновения
+     */
+    public static final int RESPONSE = 6;
+    /**
+     * Проверка столкновений целиком
+     */
+    public static final int TOTAL = 7;
+    /**
+     * Количество фаз
+     */
+    public static final int PHASE_COUNT = 8;
+    /**
+     * Названия фаз (для вывода на экран)
+     */
+    private static final String[] NAMES = {
+        "boom", "asteroids", "bullet/asteroid", "bullet/ship", "powerups", "ships", "response", "total"
+    };
+    /**
+     * Количество кадров, по которым считается статистика
+     */
+    public static final int WINDOW = 120;
+    /**
+     * Время начала фаз текущего кадра
+     */
+    private final long[] startTime;
+    /**
+     * Время фаз текущего кадра в наносекундах
+     */
+    private final long[] frameTime;
+    /**
+     * Пары-кандидаты текущего кадра
+     */
+    private final int[] frameCandidates;
+    /**
+     * Точные проверки текущего кадра
+     */
+    private final int[] frameTests;
+    /**
+     * Найденные столкновения текущего кадра
+     */
+    private final int[] frameHits;
+    /**
+     * Время фаз за последние кадры в миллисекундах (кольцевой буфер)
+     */
+    private final float[][] times;
+    /**
+     * Пары-кандидаты за последние кадры
+     */
+    private final int[][] candidates;
+    /**
+     * Точные проверки за последние кадры
+     */
+    private final int[][] tests;
+    /**
+     * Найденные столкновения за последние кадры
+     */
+    private final int[][] hits;
+    /**
+     * Позиция записи в кольцевом буфере
+     */
+    private int cursor;
+    /**
+     * Количество записанных кадров (не больше {@link #WINDOW})
+     */
+    private int frames;
+    /**
+     * Массив для сортировки при вычислении процентиля
+     */
+    private final float[] sorted;
+
+    public CollisionStats() {
+        this.startTime = new long[PHASE_COUNT];
+        this.frameTime = new long[PHASE_COUNT];
+        this.frameCandidates = new int[PHASE_COUNT];
+        this.frameTests = new int[PHASE_COUNT];
+        this.frameHits = new int[PHASE_COUNT];
+        this.times = new float[PHASE_COUNT][WINDOW];
+        this.candidates = new int[PHASE_COUNT][WINDOW];
+        this.tests = new int[PHASE_COUNT][WINDOW];
+        this.hits = new int[PHASE_COUNT][WINDOW];
+        this.sorted = new float[WINDOW];
+    }
+
+    /**
+     * Начало замера времени фазы
+     */
+    public void begin(int phase) {
+        startTime[phase] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Окончание замера времени фазы (время фазы за кадр накапливается, если фаза выполняется несколько раз)
+     */
+    public void end(int phase) {
+        frameTime[phase] += TimeUtils.nanoTime() - startTime[phase];
+    }
+
+    /**
+     * Учет пар-кандидатов широкой фазы
+     */
+    public void addCandidates(int phase, int count) {
+        frameCandidates[phase] += count;
+    }
+
+    /**
+     * Учет точных проверок
+     */
+    public void addTests(int phase, int count) {
+        frameTests[phase] += count;
+    }
+
+    /**
+     * Учет найденных столкновений
+     */
+    public void addHits(int phase, int count) {
+        frameHits[phase] += count;
+    }
+
+    /**
+     * Завершение кадра: значения кадра переносятся в кольцевой буфер и обнуляются
+     */
+    public void endFrame() {
+        for (int p = 0; p < PHASE_COUNT; p++) {
+            times[p][cursor] = frameTime[p] / 1000000.0f;
+            candidates[p][cursor] = frameCandidates[p];
+            tests[p][cursor] = frameTests[p];
+            hits[p][cursor] = frameHits[p];
+        }
+        Arrays.fill(frameTime, 0L);
+        Arrays.fill(frameCandidates, 0);
+        Arrays.fill(frameTests, 0);
+        Arrays.fill(frameHits, 0);
+        cursor = (cursor + 1) % WINDOW;
+        if (frames < WINDOW) {
+            frames++;
+        }
+    }
+
+    /**
+     * @return название фазы
+     */
+    public static String getName(int phase) {
+        return NAMES[phase];
+    }
+
+    /**
+     * @return количество кадров, по которым посчитана статистика
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return минимальное время фазы за окно в миллисекундах
+     */
+    public float getMinTime(int phase) {
+        float min = Float.MAX_VALUE;
+        for (int i = 0; i < frames; i++) {
+            min = Math.min(min, times[phase][i]);
+        }
+        return frames > 0 ? min : 0.0f;
+    }
+
+    /**
+     * @return среднее время фазы за окно в миллисекундах
+     */
+    public float getAvgTime(int phase) {
+        float sum = 0.0f;
+        for (int i = 0; i < frames; i++) {
+            sum += times[phase][i];
+        }
+        return frames > 0 ? sum / frames : 0.0f;
+    }
+
+    /**
+     * @return 99-й процентиль времени фазы за окно в миллисекундах
+     */
+    public float getP99Time(int phase) {
+        if (frames == 0) {
+            return 0.0f;
+        }
+        System.arraycopy(times[phase], 0, sorted, 0, frames);
+        Arrays.sort(sorted, 0, frames);
+        int index = (int) Math.ceil(frames * 0.99) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    /**
+     * @return среднее количество пар-кандидатов за кадр
+     */
+    public float getAvgCandidates(int phase) {
+        return average(candidates[phase]);
+    }
+
+    /**
+     * @return среднее количество точных проверок за кадр
+     */
+    public float getAvgTests(int phase) {
+        return average(tests[phase]);
+    }
+
+    /**
+     * @return среднее количество найденных столкновений за кадр
+     */
+    public float getAvgHits(int phase) {
+        return average(hits[phase]);
+    }
+
+    /**
+     * @return количество пар-кандидатов на последнем завершенном кадре
+     */
+    public int getLastCandidates(int phase) {
+        return candidates[phase][lastIndex()];
+    }
+
+    /**
+     * @return количество точных проверок на последнем завершенном кадре
+     */
+    public int getLastTests(int phase) {
+        return tests[phase][lastIndex()];
+    }
+
+    /**
+     * @return количество найденных столкновений на последнем завершенном кадре
+     */
+    public int getLastHits(int phase) {
+        return hits[phase][lastIndex()];
+    }
+
+    /**
+     * Очистка статистики
+     */
+    public void reset() {
+        for (int p = 0; p < PHASE_COUNT; p++) {
+            Arrays.fill(times[p], 0.0f);
+            Arrays.fill(candidates[p], 0);
+            Arrays.fill(tests[p], 0);
+            Arrays.fill(hits[p], 0);
+        }
+        cursor = 0;
+        frames = 0;
+    }
+
+    private int lastIndex() {
+        return (cursor + WINDOW - 1) % WINDOW;
+    }
+
+    private float average(int[] values) {
+        long sum = 0;
+        for (int i = 0; i < frames; i++) {
+            sum += values[i];
+        }
+        return frames > 0 ? (float) sum / frames : 0.0f;
+    }
+}
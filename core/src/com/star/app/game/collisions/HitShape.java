@@ -0,0 +1,155 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Составная зона поражения: описанный круг (зона поражения объекта {@link Circle}) и вложенные круги,
+ * которые точнее повторяют силуэт спрайта.
+ * Координаты и радиусы вложенных кругов задаются в долях радиуса описанного круга в системе координат объекта
+ * (ось х направлена по курсу), поэтому одна форма подходит для объектов разного масштаба.
+ * Все проверки сначала выполняются для описанного круга и переходят к вложенным кругам только при пересечении,
+ * поэтому промах почти ничего не стоит
+ */
+public class HitShape {
+    /**
+     * Форма без вложенных кругов (зона поражения совпадает с описанным кругом)
+     */
+    public static final HitShape CIRCLE = new HitShape(new float[]{0.0f}, new float[]{0.0f}, new float[]{1.0f});
+    /**
+     * Смещения вложенных кругов по оси х
+     */
+    private final float[] offsetX;
+    /**
+     * Смещения вложенных кругов по оси у
+     */
+    private final float[] offsetY;
+    /**
+     * Радиусы вложенных кругов
+     */
+    private final float[] radius;
+
+    /**
+     * @param offsetX смещения вложенных кругов по оси х (в долях радиуса описанного круга)
+     * @param offsetY смещения вложенных кругов по оси у (в долях радиуса описанного круга)
+     * @param radius  радиусы вложенных кругов (в долях радиуса описанного круга)
+     * @throws IllegalArgumentException если вложенный круг выходит за описанный круг
+     *                                  (проверка описанного круга отбросила бы попадания у края вложенного)
+     */
+    public HitShape(float[] offsetX, float[] offsetY, float[] radius) {
+        for (int i = 0; i < radius.length; i++) {
+            if (Vector2.len(offsetX[i], offsetY[i]) + radius[i] > 1.0f + MathUtils.FLOAT_ROUNDING_ERROR) {
+                throw new IllegalArgumentException("Hit shape circle " + i + " extends outside the bounding circle");
+            }
+        }
+        this.offsetX = offsetX.clone();
+        this.offsetY = offsetY.clone();
+        this.radius = radius.clone();
+    }
+
+    /**
+     * @return количество вложенных кругов
+     */
+    public int getCircleCount() {
+        return radius.length;
+    }
+
+    /**
+     * Проверка попадания точки
+     *
+     * @param bounds описанный круг
+     * @param angle  угол поворота объекта в градусах
+     * @param x      координата точки по оси х
+     * @param y      координата точки по оси у
+     */
+    public boolean contains(Circle bounds, float angle, float x, float y) {
+        if (!bounds.contains(x, y)) {
+            return false;
+        }
+        float cos = MathUtils.cosDeg(angle);
+        float sin = MathUtils.sinDeg(angle);
+        for (int i = 0; i < radius.length; i++) {
+            float r = radius[i] * bounds.radius;
+            float dx = x - childX(bounds, cos, sin, i);
+            float dy = y - childY(bounds, cos, sin, i);
+            if (dx * dx + dy * dy <= r * r) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Непрерывная проверка попадания отрезка
+     *
+     * @param bounds описанный круг
+     * @param angle  угол поворота объекта в градусах
+     * @param from   начало отрезка
+     * @param to     конец отрезка
+     * @return доля пути [0;1], на которой отрезок впервые касается формы, или {@link SweptCollision#NO_HIT}
+     */
+    public float segmentHit(Circle bounds, float angle, Vector2 from, Vector2 to) {
+        if (!SweptCollision.hits(from, to, bounds)) {
+            return SweptCollision.NO_HIT;
+        }
+        float cos = MathUtils.cosDeg(angle);
+        float sin = MathUtils.sinDeg(angle);
+        float best = SweptCollision.NO_HIT;
+        for (int i = 0; i < radius.length; i++) {
+            float t = SweptCollision.segmentCircle(from.x, from.y, to.x, to.y,
+                childX(bounds, cos, sin, i), childY(bounds, cos, sin, i), radius[i] * bounds.radius);
+            if (t != SweptCollision.NO_HIT && (best == SweptCollision.NO_HIT || t < best)) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Проверка пересечения двух составных форм
+     *
+     * @param bounds      описанный круг этой формы
+     * @param angle       угол поворота этой формы в градусах
+     * @param other       вторая форма
+     * @param otherBounds описанный круг второй формы
+     * @param otherAngle  угол поворота второй формы в градусах
+     */
+    public boolean overlaps(Circle bounds, float angle, HitShape other, Circle otherBounds, float otherAngle) {
+        if (!bounds.overlaps(otherBounds)) {
+            return false;
+        }
+        float cos = MathUtils.cosDeg(angle);
+        float sin = MathUtils.sinDeg(angle);
+        float otherCos = MathUtils.cosDeg(otherAngle);
+        float otherSin = MathUtils.sinDeg(otherAngle);
+        for (int i = 0; i < radius.length; i++) {
+            float x = childX(bounds, cos, sin, i);
+            float y = childY(bounds, cos, sin, i);
+            float r = radius[i] * bounds.radius;
+            for (int j = 0; j < other.radius.length; j++) {
+                float dx = other.childX(otherBounds, otherCos, otherSin, j) - x;
+                float dy = other.childY(otherBounds, otherCos, otherSin, j) - y;
+                float sum = r + other.radius[j] * otherBounds.radius;
+                if (dx * dx + dy * dy < sum * sum) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Координата центра вложенного круга по оси х в мировой системе координат
+     */
+    private float childX(Circle bounds, float cos, float sin, int index) {
+        return bounds.x + (offsetX[index] * cos - offsetY[index] * sin) * bounds.radius;
+    }
+
+    /**
+     * Координата центра вложенного круга по оси у в мировой системе координат
+     */
+    private float childY(Circle bounds, float cos, float sin, int index) {
+        return bounds.y + (offsetX[index] * sin + offsetY[index] * cos) * bounds.radius;
+    }
+}
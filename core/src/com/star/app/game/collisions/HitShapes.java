@@ -0,0 +1,68 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Набор составных зон поражения {@link HitShape}, загружаемый из файла данных.
+ * Формат файла: для каждого типа объекта задается список вложенных кругов
+ * { "boss": { "circles": [ { "x": 0.0, "y": 0.0, "r": 0.6 }, ... ] }, ... }
+ * Координаты и радиусы задаются в долях радиуса описанного круга
+ */
+public class HitShapes {
+    /**
+     * Путь к файлу с формами по умолчанию
+     */
+    public static final String DEFAULT_PATH = "data/hitshapes.json";
+    /**
+     * Формы по названию типа объекта
+     */
+    private final Map<String, HitShape> shapes;
+
+    private HitShapes() {
+        this.shapes = new HashMap<String, HitShape>();
+    }
+
+    /**
+     * Загрузка форм из файла
+     *
+     * @param file файл данных
+     * @return набор форм
+     */
+    public static HitShapes load(FileHandle file) {
+        HitShapes result = new HitShapes();
+        JsonValue root = new JsonReader().parse(file);
+        for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+            JsonValue circles = entry.get("circles");
+            if (circles == null || circles.size == 0) {
+                result.shapes.put(entry.name, HitShape.CIRCLE);
+                continue;
+            }
+            float[] x = new float[circles.size];
+            float[] y = new float[circles.size];
+            float[] r = new float[circles.size];
+            int i = 0;
+            for (JsonValue circle = circles.child; circle != null; circle = circle.next) {
+                x[i] = circle.getFloat("x", 0.0f);
+                y[i] = circle.getFloat("y", 0.0f);
+                r[i] = circle.getFloat("r");
+                i++;
+            }
+            result.shapes.put(entry.name, new HitShape(x, y, r));
+        }
+        return result;
+    }
+
+    /**
+     * @param name название типа объекта
+     * @return форма для типа объекта или {@link HitShape#CIRCLE}, если форма не задана
+     */
+    public HitShape get(String name) {
+        HitShape shape = shapes.get(name);
+        return shape != null ? shape : HitShape.CIRCLE;
+    }
+}
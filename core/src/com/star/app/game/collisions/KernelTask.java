@@ -0,0 +1,62 @@
+package com.star.app.game.collisions;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Задача для параллельной проверки точек {@link CollisionKernel} в пуле потоков ForkJoinPool.
+ * Диапазон точек делится пополам, пока не станет меньше размера порции.
+ * Каждая подзадача пишет результаты только своих точек, поэтому после завершения
+ * результаты лежат в том же порядке, что и при последовательной проверке
+ */
+public class KernelTask extends RecursiveAction {
+    /**
+     * Проверяемое ядро
+     */
+    private final CollisionKernel kernel;
+    /**
+     * Режим непрерывной проверки (иначе проверяется текущая позиция точки)
+     */
+    private final boolean swept;
+    /**
+     * Номер первой точки
+     */
+    private final int from;
+    /**
+     * Номер точки, следующей за последней
+     */
+    private final int to;
+    /**
+     * Размер порции, которая проверяется без дальнейшего деления
+     */
+    private final int chunkSize;
+
+    /**
+     * @param kernel    ядро с загруженными кругами и точками
+     * @param swept     режим непрерывной проверки
+     * @param from      номер первой точки
+     * @param to        номер точки, следующей за последней
+     * @param chunkSize размер порции
+     */
+    public KernelTask(CollisionKernel kernel, boolean swept, int from, int to, int chunkSize) {
+        this.kernel = kernel;
+        this.swept = swept;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= chunkSize) {
+            if (swept) {
+                kernel.segmentsVsCircles(from, to);
+            } else {
+                kernel.pointsInCircles(from, to);
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new KernelTask(kernel, swept, from, middle, chunkSize),
+            new KernelTask(kernel, swept, middle, to, chunkSize));
+    }
+}
@@ -0,0 +1,13 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+/**
+ * Получатель объектов, найденных запросом {@link WorldQuery#queryRadius}
+ */
+public interface QueryConsumer {
+    /**
+     * @param item найденный объект
+     */
+    void accept(Collidable item);
+}
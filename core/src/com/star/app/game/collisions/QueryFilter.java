@@ -0,0 +1,14 @@
+package com.star.app.game.collisions;
+
+import com.star.app.game.interfacies.Collidable;
+
+/**
+ * Фильтр объектов для запросов к {@link WorldQuery}
+ */
+public interface QueryFilter {
+    /**
+     * @param item объект из индекса
+     * @return подходит ли объект под условие запроса
+     */
+    boolean accept(Collidable item);
+}
@@ -0,0 +1,212 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Равномерная пространственная хеш-сетка (широкая фаза проверки столкновений).
+ * Игровое поле делится на квадратные ячейки размера cellSize, координаты ячейки хешируются в номер корзины.
+ * Объект с радиусом регистрируется во всех ячейках, которые перекрывает описанный вокруг него квадрат,
+ * поэтому для проверки точки достаточно просмотреть одну корзину.
+ * Объекты в корзине хранятся в порядке регистрации.
+ *
+ * @param <T> тип объектов, которые регистрируются в сетке
+ */
+public class SpatialHashGrid<T> {
+    /**
+     * Начальная вместимость корзины
+     */
+    private static final int BUCKET_CAPACITY = 8;
+    /**
+     * Размер ячейки
+     */
+    private final float cellSize;
+    /**
+     * Величина, обратная размеру ячейки (чтобы не делить при каждом обращении)
+     */
+    private final float invCellSize;
+    /**
+     * Маска для получения номера корзины из хеша (количество корзин - степень двойки)
+     */
+    private final int mask;
+    /**
+     * Корзины с объектами
+     */
+    private Object[][] buckets;
+    /**
+     * Количество объектов в каждой корзине
+     */
+    private int[] sizes;
+    /**
+     * Корзины, уже просмотренные при текущем запросе по области
+     */
+    private int[] visited;
+
+    /**
+     * @return размер ячейки
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Создание сетки
+     *
+     * @param cellSize    размер ячейки (должен быть не меньше диаметра типичного объекта)
+     * @param bucketCount количество корзин (округляется вверх до степени двойки)
+     */
+    public SpatialHashGrid(float cellSize, int bucketCount) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0f / cellSize;
+        int count = MathUtils.nextPowerOfTwo(bucketCount);
+        this.mask = count - 1;
+        this.buckets = new Object[count][BUCKET_CAPACITY];
+        this.sizes = new int[count];
+        this.visited = new int[16];
+    }
+
+    /**
+     * Очистка сетки (вызывается перед повторной регистрацией объектов на новом кадре)
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0);
+    }
+
+    /**
+     * Регистрация точечного объекта (например, пули)
+     *
+     * @param item объект
+     * @param x    координата х
+     * @param y    координата у
+     */
+    public void insert(T item, float x, float y) {
+        add(bucketIndex(x, y), item);
+    }
+
+    /**
+     * Регистрация объекта с радиусом (например, астероида).
+     * Объект добавляется во все ячейки, которые перекрывает описанный вокруг него квадрат
+     *
+     * @param item   объект
+     * @param x      координата центра по оси х
+     * @param y      координата центра по оси у
+     * @param radius радиус
+     */
+    public void insert(T item, float x, float y, float radius) {
+        int minX = cellCoord(x - radius);
+        int maxX = cellCoord(x + radius);
+        int minY = cellCoord(y - radius);
+        int maxY = cellCoord(y + radius);
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int bucket = hash(cx, cy);
+                // разные ячейки объекта могут попасть в одну корзину, повторно объект не добавляем
+                if (sizes[bucket] > 0 && buckets[bucket][sizes[bucket] - 1] == item) {
+                    continue;
+                }
+                add(bucket, item);
+            }
+        }
+    }
+
+    /**
+     * Номер корзины, в которую попадает точка
+     *
+     * @param x координата х
+     * @param y координата у
+     */
+    public int bucketIndex(float x, float y) {
+        return hash(cellCoord(x), cellCoord(y));
+    }
+
+    /**
+     * @param bucket номер корзины
+     * @return количество объектов в корзине
+     */
+    public int getBucketSize(int bucket) {
+        return sizes[bucket];
+    }
+
+    /**
+     * @param bucket номер корзины
+     * @param index  порядковый номер объекта в корзине
+     * @return объект
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int bucket, int index) {
+        return (T) buckets[bucket][index];
+    }
+
+    /**
+     * Получение всех объектов из ячеек, которые перекрывает круг с заданным центром и радиусом.
+     * Каждая корзина просматривается один раз, но объект с радиусом может попасть в результат несколько раз
+     * (если он зарегистрирован в нескольких корзинах).
+     * Результат - кандидаты для точной проверки, а не окончательный ответ
+     *
+     * @param x      координата центра по оси х
+     * @param y      координата центра по оси у
+     * @param radius радиус области
+     * @param out    список, в который складываются кандидаты (предварительно очищается)
+     */
+    public void query(float x, float y, float radius, List<T> out) {
+        out.clear();
+        int minX = cellCoord(x - radius);
+        int maxX = cellCoord(x + radius);
+        int minY = cellCoord(y - radius);
+        int maxY = cellCoord(y + radius);
+        int visitedCount = 0;
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int bucket = hash(cx, cy);
+                if (isVisited(bucket, visitedCount)) {
+                    continue;
+                }
+                if (visitedCount == visited.length) {
+                    visited = Arrays.copyOf(visited, visited.length * 2);
+                }
+                visited[visitedCount++] = bucket;
+                for (int i = 0; i < sizes[bucket]; i++) {
+                    out.add(get(bucket, i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверка, просматривалась ли корзина при текущем запросе
+     */
+    private boolean isVisited(int bucket, int visitedCount) {
+        for (int i = 0; i < visitedCount; i++) {
+            if (visited[i] == bucket) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Добавление объекта в корзину (при нехватке места корзина увеличивается в 2 раза)
+     */
+    private void add(int bucket, T item) {
+        if (sizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], buckets[bucket].length * 2);
+        }
+        buckets[bucket][sizes[bucket]++] = item;
+    }
+
+    /**
+     * Номер ячейки по координате
+     */
+    private int cellCoord(float value) {
+        return MathUtils.floor(value * invCellSize);
+    }
+
+    /**
+     * Хеш ячейки (большие простые числа разносят соседние ячейки по разным корзинам)
+     */
+    private int hash(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & mask;
+    }
+}
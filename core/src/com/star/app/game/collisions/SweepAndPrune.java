@@ -0,0 +1,205 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.Circle;
+import com.star.app.game.helpers.Poolable;
+import com.star.app.game.interfacies.Pushable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Широкая фаза "сортировка и проход" (sort and sweep) для столкновений объектов одного типа между собой.
+ * Объекты хранятся отсортированными по левой границе зоны поражения по оси х.
+ * Между кадрами объекты смещаются мало, поэтому массив почти отсортирован и сортировка вставками
+ * работает практически за линейное время.
+ * Проход по массиву выдает пары, у которых пересекаются проекции на ось х и на ось у
+ *
+ * @param <T> тип объектов (должен иметь зону поражения и признак активности)
+ */
+public class SweepAndPrune<T extends Pushable & Poolable> {
+    /**
+     * Начальная вместимость массивов
+     */
+    private static final int INITIAL_CAPACITY = 32;
+    /**
+     * Объекты, отсортированные по левой границе
+     */
+    private Object[] items;
+    /**
+     * Левая граница зоны поражения каждого объекта (ключ сортировки)
+     */
+    private float[] minX;
+    /**
+     * Количество объектов
+     */
+    private int count;
+    /**
+     * Объекты, находящиеся в массиве {@link #items} (проверка по ссылке, без перебора массива)
+     */
+    private final Set<Object> members;
+    /**
+     * Объекты, добавленные с момента последнего обновления
+     */
+    private Object[] pending;
+    /**
+     * Количество добавленных объектов
+     */
+    private int pendingCount;
+    /**
+     * Первые объекты найденных пар
+     */
+    private Object[] pairA;
+    /**
+     * Вторые объекты найденных пар
+     */
+    private Object[] pairB;
+    /**
+     * Количество найденных пар
+     */
+    private int pairCount;
+
+    public SweepAndPrune() {
+        this.items = new Object[INITIAL_CAPACITY];
+        this.minX = new float[INITIAL_CAPACITY];
+        this.members = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        this.pending = new Object[INITIAL_CAPACITY];
+        this.pairA = new Object[INITIAL_CAPACITY];
+        this.pairB = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Добавление объекта (вызывается при активации объекта).
+     * Объект попадет в отсортированный массив при следующем вызове {@link #update()}
+     */
+    public void add(T item) {
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = item;
+    }
+
+    /**
+     * Обновление широкой фазы:
+     * 1.Удаляются неактивные объекты и добавляются новые
+     * 2.Пересчитываются левые границы и массив досортировывается вставками
+     * 3.Проход по массиву собирает пары-кандидаты
+     */
+    public void update() {
+        sync();
+        for (int i = 0; i < count; i++) {
+            Circle c = get(i).getHitArea();
+            minX[i] = c.x - c.radius;
+        }
+        insertionSort();
+        sweep();
+    }
+
+    /**
+     * @return количество найденных пар
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * @return первый объект пары с заданным номером
+     */
+    @SuppressWarnings("unchecked")
+    public T getPairA(int index) {
+        return (T) pairA[index];
+    }
+
+    /**
+     * @return второй объект пары с заданным номером
+     */
+    @SuppressWarnings("unchecked")
+    public T getPairB(int index) {
+        return (T) pairB[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Синхронизация со списком активных объектов.
+     * Неактивные объекты удаляются с сохранением порядка (он нужен для сортировки вставками),
+     * новые объекты добавляются в конец. Объект из пула может быть деактивирован и снова активирован
+     * между обновлениями, поэтому уже присутствующие объекты повторно не добавляются
+     * (присутствие проверяется по множеству {@link #members})
+     */
+    private void sync() {
+        int alive = 0;
+        for (int i = 0; i < count; i++) {
+            if (get(i).isActive()) {
+                items[alive++] = items[i];
+            } else {
+                members.remove(items[i]);
+            }
+        }
+        Arrays.fill(items, alive, count, null);
+        count = alive;
+        for (int i = 0; i < pendingCount; i++) {
+            Object item = pending[i];
+            pending[i] = null;
+            if (((Poolable) item).isActive() && members.add(item)) {
+                if (count == items.length) {
+                    items = Arrays.copyOf(items, count * 2);
+                    minX = Arrays.copyOf(minX, count * 2);
+                }
+                items[count++] = item;
+            }
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Сортировка вставками по левой границе
+     */
+    private void insertionSort() {
+        for (int i = 1; i < count; i++) {
+            float key = minX[i];
+            Object item = items[i];
+            int j = i - 1;
+            while (j >= 0 && minX[j] > key) {
+                minX[j + 1] = minX[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            minX[j + 1] = key;
+            items[j + 1] = item;
+        }
+    }
+
+    /**
+     * Проход по отсортированному массиву: для каждого объекта просматриваются следующие за ним объекты,
+     * пока их левая граница не выйдет за его правую границу.
+     * Пара попадает в кандидаты, если пересекаются и проекции на ось у
+     */
+    private void sweep() {
+        pairCount = 0;
+        for (int i = 0; i < count; i++) {
+            Circle a = get(i).getHitArea();
+            float maxX = a.x + a.radius;
+            for (int j = i + 1; j < count && minX[j] <= maxX; j++) {
+                Circle b = get(j).getHitArea();
+                if (Math.abs(a.y - b.y) <= a.radius + b.radius) {
+                    addPair(items[i], items[j]);
+                }
+            }
+        }
+    }
+
+    private void addPair(Object a, Object b) {
+        if (pairCount == pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount * 2);
+            pairB = Arrays.copyOf(pairB, pairCount * 2);
+        }
+        pairA[pairCount] = a;
+        pairB[pairCount] = b;
+        pairCount++;
+    }
+}
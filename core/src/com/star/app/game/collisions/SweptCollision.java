@@ -0,0 +1,72 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Непрерывная (swept) проверка столкновений.
+ * Вместо проверки конечной точки движения проверяется весь отрезок, пройденный объектом за кадр,
+ * поэтому быстрые пули не "проскакивают" сквозь небольшие цели при большом шаге времени
+ */
+public final class SweptCollision {
+    /**
+     * Значение, которое возвращается, если пересечения нет
+     */
+    public static final float NO_HIT = -1.0f;
+
+    private SweptCollision() {
+    }
+
+    /**
+     * Проверка пересечения отрезка и круга
+     *
+     * @param from   начало отрезка (позиция на прошлом кадре)
+     * @param to     конец отрезка (текущая позиция)
+     * @param circle круг (зона поражения цели)
+     * @return доля пути [0;1], на которой отрезок впервые касается круга, или {@link #NO_HIT}
+     */
+    public static float segmentCircle(Vector2 from, Vector2 to, Circle circle) {
+        return segmentCircle(from.x, from.y, to.x, to.y, circle.x, circle.y, circle.radius);
+    }
+
+    /**
+     * Проверка пересечения отрезка (x0;y0)-(x1;y1) и круга с центром (cx;cy) и радиусом r.
+     * Решается квадратное уравнение |from + (to - from) * t - center| = r относительно t
+     *
+     * @return доля пути [0;1], на которой отрезок впервые касается круга, или {@link #NO_HIT}
+     */
+    public static float segmentCircle(float x0, float y0, float x1, float y1, float cx, float cy, float r) {
+        float fx = x0 - cx;
+        float fy = y0 - cy;
+        float c = fx * fx + fy * fy - r * r;
+        if (c <= 0.0f) {
+            // начало отрезка уже внутри круга
+            return 0.0f;
+        }
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float a = dx * dx + dy * dy;
+        float b = fx * dx + fy * dy;
+        if (a == 0.0f || b >= 0.0f) {
+            // объект стоит на месте или удаляется от центра круга
+            return NO_HIT;
+        }
+        float discriminant = b * b - a * c;
+        if (discriminant < 0.0f) {
+            return NO_HIT;
+        }
+        float t = (-b - (float) Math.sqrt(discriminant)) / a;
+        return t <= 1.0f ? t : NO_HIT;
+    }
+
+    /**
+     * Проверка, задевает ли отрезок круг
+     *
+     * @param from   начало отрезка
+     * @param to     конец отрезка
+     * @param circle круг
+     */
+    public static boolean hits(Vector2 from, Vector2 to, Circle circle) {
+        return segmentCircle(from, to, circle) != NO_HIT;
+    }
+}
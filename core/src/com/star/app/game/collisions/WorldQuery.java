@@ -0,0 +1,310 @@
+package com.star.app.game.collisions;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.star.app.game.helpers.Poolable;
+import com.star.app.game.interfacies.Collidable;
+import com.star.app.game.interfacies.Locatable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Сервис пространственных запросов к игровому миру: поиск объектов в радиусе и поиск ближайшего объекта.
+ * Объекты хранятся в равномерной сетке, покрывающей игровое поле (объекты за границей поля попадают в крайние ячейки).
+ * Каждая ячейка - двусвязный список номеров объектов, поэтому индекс обновляется инкрементально:
+ * при обновлении {@link #update()} перемещаются только объекты, перешедшие в другую ячейку
+ */
+public class WorldQuery {
+    /**
+     * Начальная вместимость индекса
+     */
+    private static final int INITIAL_CAPACITY = 32;
+    /**
+     * Признак отсутствия объекта в списке
+     */
+    private static final int NONE = -1;
+    /**
+     * Размер ячейки
+     */
+    private final float cellSize;
+    /**
+     * Величина, обратная размеру ячейки
+     */
+    private final float invCellSize;
+    /**
+     * Количество столбцов сетки
+     */
+    private final int cols;
+    /**
+     * Количество строк сетки
+     */
+    private final int rows;
+    /**
+     * Первый объект в каждой ячейке
+     */
+    private final int[] heads;
+    /**
+     * Объекты индекса
+     */
+    private Object[] items;
+    /**
+     * Ячейка, в которой зарегистрирован объект
+     */
+    private int[] cells;
+    /**
+     * Следующий объект в ячейке
+     */
+    private int[] next;
+    /**
+     * Предыдущий объект в ячейке
+     */
+    private int[] prev;
+    /**
+     * Количество объектов
+     */
+    private int count;
+    /**
+     * Номер объекта в индексе (для проверки повторного добавления и удаления за O(1))
+     */
+    private final IdentityHashMap<Object, Integer> slots;
+
+    /**
+     * Создание индекса
+     *
+     * @param width    ширина игрового поля
+     * @param height   высота игрового поля
+     * @param cellSize размер ячейки
+     */
+    public WorldQuery(float width, float height, float cellSize) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0f / cellSize;
+        this.cols = Math.max(1, MathUtils.ceil(width * invCellSize));
+        this.rows = Math.max(1, MathUtils.ceil(height * invCellSize));
+        this.heads = new int[cols * rows];
+        Arrays.fill(heads, NONE);
+        this.items = new Object[INITIAL_CAPACITY];
+        this.cells = new int[INITIAL_CAPACITY];
+        this.next = new int[INITIAL_CAPACITY];
+        this.prev = new int[INITIAL_CAPACITY];
+        this.slots = new IdentityHashMap<Object, Integer>();
+    }
+
+    /**
+     * @return количество объектов в индексе
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Добавление объекта в индекс (повторное добавление игнорируется).
+     * Объекты из пула удаляются из индекса автоматически после деактивации {@link #update()}
+     *
+     * @param item объект
+     */
+    public <T extends Collidable & Locatable> void add(T item) {
+        if (slots.containsKey(item)) {
+            return;
+        }
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+            cells = Arrays.copyOf(cells, count * 2);
+            next = Arrays.copyOf(next, count * 2);
+            prev = Arrays.copyOf(prev, count * 2);
+        }
+        items[count] = item;
+        link(count, cellOf(item.getPosition()));
+        slots.put(item, count);
+        count++;
+    }
+
+    /**
+     * Удаление объекта из индекса
+     *
+     * @param item объект
+     */
+    public void remove(Object item) {
+        Integer slot = slots.get(item);
+        if (slot != null) {
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * Обновление индекса (вызывается один раз за кадр после перемещения объектов):
+     * 1.Деактивированные объекты из пула удаляются
+     * 2.Объекты, перешедшие в другую ячейку, переносятся в список новой ячейки
+     */
+    public void update() {
+        for (int i = count - 1; i >= 0; i--) {
+            if (!isActive(items[i])) {
+                removeAt(i);
+                continue;
+            }
+            int cell = cellOf(((Locatable) items[i]).getPosition());
+            if (cell != cells[i]) {
+                unlink(i);
+                link(i, cell);
+            }
+        }
+    }
+
+    /**
+     * Поиск объектов, позиция которых находится в круге с заданным центром и радиусом.
+     * Просматриваются только ячейки, которые перекрывает описанный вокруг круга квадрат.
+     * Получатель может менять состояние объектов, но не должен добавлять или удалять объекты индекса
+     *
+     * @param x        координата центра по оси х
+     * @param y        координата центра по оси у
+     * @param radius   радиус
+     * @param filter   фильтр объектов
+     * @param consumer получатель найденных объектов
+     */
+    public void queryRadius(float x, float y, float radius, QueryFilter filter, QueryConsumer consumer) {
+        int minX = col(x - radius);
+        int maxX = col(x + radius);
+        int minY = row(y - radius);
+        int maxY = row(y + radius);
+        float radius2 = radius * radius;
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int i = heads[cy * cols + cx]; i != NONE; i = next[i]) {
+                    Collidable item = (Collidable) items[i];
+                    if (isActive(item) && distance2(i, x, y) <= radius2 && filter.accept(item)) {
+                        consumer.accept(item);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Поиск ближайшего к точке объекта.
+     * Ячейки просматриваются кольцами вокруг ячейки точки; поиск останавливается,
+     * когда следующее кольцо заведомо дальше уже найденного объекта
+     *
+     * @param x      координата х
+     * @param y      координата у
+     * @param filter фильтр объектов
+     * @return ближайший подходящий объект или null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T nearest(float x, float y, QueryFilter filter) {
+        int centerX = col(x);
+        int centerY = row(y);
+        int maxRing = Math.max(Math.max(centerX, cols - 1 - centerX), Math.max(centerY, rows - 1 - centerY));
+        Object best = null;
+        float bestDistance2 = Float.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cy = centerY - ring; cy <= centerY + ring; cy++) {
+                if (cy < 0 || cy >= rows) {
+                    continue;
+                }
+                boolean edgeRow = cy == centerY - ring || cy == centerY + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int cx = centerX - ring; cx <= centerX + ring; cx += step) {
+                    if (cx < 0 || cx >= cols) {
+                        continue;
+                    }
+                    for (int i = heads[cy * cols + cx]; i != NONE; i = next[i]) {
+                        Collidable item = (Collidable) items[i];
+                        float d2 = distance2(i, x, y);
+                        if (d2 < bestDistance2 && isActive(item) && filter.accept(item)) {
+                            bestDistance2 = d2;
+                            best = item;
+                        }
+                    }
+                }
+            }
+            float reach = ring * cellSize;
+            if (best != null && bestDistance2 <= reach * reach) {
+                break;
+            }
+        }
+        return (T) best;
+    }
+
+    /**
+     * Квадрат расстояния от объекта с заданным номером до точки
+     */
+    private float distance2(int slot, float x, float y) {
+        Vector2 position = ((Locatable) items[slot]).getPosition();
+        float dx = position.x - x;
+        float dy = position.y - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Удаление объекта с заданным номером: на его место переносится последний объект
+     */
+    private void removeAt(int slot) {
+        unlink(slot);
+        slots.remove(items[slot]);
+        int last = count - 1;
+        if (slot != last) {
+            int cell = cells[last];
+            unlink(last);
+            items[slot] = items[last];
+            link(slot, cell);
+            slots.put(items[slot], slot);
+        }
+        items[last] = null;
+        count--;
+    }
+
+    /**
+     * Добавление объекта в начало списка ячейки
+     */
+    private void link(int slot, int cell) {
+        cells[slot] = cell;
+        prev[slot] = NONE;
+        next[slot] = heads[cell];
+        if (heads[cell] != NONE) {
+            prev[heads[cell]] = slot;
+        }
+        heads[cell] = slot;
+    }
+
+    /**
+     * Удаление объекта из списка ячейки
+     */
+    private void unlink(int slot) {
+        if (prev[slot] != NONE) {
+            next[prev[slot]] = next[slot];
+        } else {
+            heads[cells[slot]] = next[slot];
+        }
+        if (next[slot] != NONE) {
+            prev[next[slot]] = prev[slot];
+        }
+    }
+
+    /**
+     * Номер ячейки, в которую попадает позиция
+     */
+    private int cellOf(Vector2 position) {
+        return row(position.y) * cols + col(position.x);
+    }
+
+    /**
+     * Номер столбца по координате (с ограничением по границам поля)
+     */
+    private int col(float x) {
+        return MathUtils.clamp(MathUtils.floor(x * invCellSize), 0, cols - 1);
+    }
+
+    /**
+     * Номер строки по координате (с ограничением по границам поля)
+     */
+    private int row(float y) {
+        return MathUtils.clamp(MathUtils.floor(y * invCellSize), 0, rows - 1);
+    }
+
+    /**
+     * Объекты из пула активны, пока не деактивированы; остальные объекты активны всегда
+     */
+    private static boolean isActive(Object item) {
+        return !(item instanceof Poolable) || ((Poolable) item).isActive();
+    }
+}
@@ -1,6 +1,8 @@
 package com.star.app.game.controllers;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.star.app.game.collisions.SpatialHashGrid;
+import com.star.app.game.collisions.SweepAndPrune;
 import com.star.app.game.entities.Asteroid;
 import com.star.app.game.helpers.ObjectPool;
 
@@ -8,34 +10,82 @@ import com.star.app.game.helpers.ObjectPool;
  * Класс-контроллер, отвечающий за астероиды
  */
 public class AsteroidController extends ObjectPool<Asteroid> {
+    /**
+     * Начальная вместимость пула астероидов
+     */
+    private static final int POOL_CAPACITY = 32;
+    /**
+     * Количество астероидов, создаваемых заранее при загрузке игрового экрана
+     */
+    private static final int POOL_PREWARM = 32;
+    /**
+     * Количество астероидов, создаваемых за раз при нехватке свободных
+     */
+    private static final int POOL_GROW_BY = 8;
+    /**
+     * Размер ячейки пространственной сетки (больше диаметра самого крупного астероида не нужен)
+     */
+    private static final float GRID_CELL_SIZE = 128.0f;
+    /**
+     * Количество корзин пространственной сетки
+     */
+    private static final int GRID_BUCKETS = 256;
     /**
      * Ссылка на объект класса {@link GameController}, отвечающий за основную игровую логику
      */
     private GameController gc;
+    /**
+     * Пространственная сетка, в которой зарегистрированы активные астероиды
+     */
+    private SpatialHashGrid<Asteroid> grid;
+    /**
+     * Широкая фаза для столкновений астероидов между собой
+     */
+    private SweepAndPrune<Asteroid> sweepAndPrune;
+
+    /**
+     * @return пространственная сетка с активными астероидами
+     */
+    public SpatialHashGrid<Asteroid> getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return широкая фаза для столкновений астероидов между собой
+     */
+    public SweepAndPrune<Asteroid> getSweepAndPrune() {
+        return sweepAndPrune;
+    }
 
     /**
      * Создание астероида
      */
     @Override
     protected Asteroid newObject() {
-        return new Asteroid(gc);
+        return new Asteroid(gc, this);
     }
 
     public AsteroidController(GameController gc) {
+        super(POOL_CAPACITY, POOL_PREWARM, POOL_GROW_BY);
         this.gc = gc;
+        this.grid = new SpatialHashGrid<Asteroid>(GRID_CELL_SIZE, GRID_BUCKETS);
+        this.sweepAndPrune = new SweepAndPrune<Asteroid>();
     }
 
     /**
      * Метод для отрисовки активных астероидов
      */
     public void render(SpriteBatch batch) {
-        for (Asteroid a : activeList) {
+        for (int i = 0; i < getActiveCount(); i++) {
+            Asteroid a = getActive(i);
             a.render(batch);
         }
     }
 
     /**
-     * Метод для определения характеристик астероида при его активации
+     * Метод для определения характеристик астероида при его активации.
+     * Новый астероид сразу регистрируется в пространственной сетке,
+     * чтобы в него могли попасть пули на том же кадре, и добавляется в широкую фазу {@link SweepAndPrune}
      *
      * @param x     координата по оси х
      * @param y     координата по оси у
@@ -44,14 +94,30 @@ public class AsteroidController extends ObjectPool<Asteroid> {
      * @param scale масштаб астероида
      */
     public void setup(float x, float y, float vx, float vy, float scale) {
-        getActiveElement().activate(x, y, vx, vy, scale);
+        Asteroid asteroid = getActiveElement();
+        asteroid.activate(x, y, vx, vy, scale);
+        grid.insert(asteroid, x, y, asteroid.getHitArea().radius);
+        sweepAndPrune.add(asteroid);
+    }
+
+    /**
+     * Метод для перестроения пространственной сетки.
+     * Астероиды регистрируются в порядке списка активных элементов
+     */
+    public void rebuildGrid() {
+        grid.clear();
+        for (int i = 0; i < getActiveCount(); i++) {
+            Asteroid a = getActive(i);
+            grid.insert(a, a.getPosition().x, a.getPosition().y, a.getHitArea().radius);
+        }
     }
 
     /**
      * Метод для вычисления изменения состояния активных астероидов
      */
     public void update(float dt) {
-        for (Asteroid asteroid : activeList) {
+        for (int i = 0; i < getActiveCount(); i++) {
+            Asteroid asteroid = getActive(i);
             asteroid.update(dt);
         }
         checkPool();
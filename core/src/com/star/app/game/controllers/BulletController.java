@@ -2,8 +2,10 @@ package com.star.app.game.controllers;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.star.app.game.collisions.SpatialHashGrid;
 import com.star.app.game.entities.Bullet;
 import com.star.app.game.entities.Ship;
+import com.star.app.game.enums.EvictionPolicy;
 import com.star.app.game.helpers.ObjectPool;
 
 import static com.star.app.screen.utils.Assets.getInstance;
@@ -12,6 +14,24 @@ import static com.star.app.screen.utils.Assets.getInstance;
  * Класс - контроллер, отвечающий за пули
  */
 public class BulletController extends ObjectPool<Bullet> {
+    /**
+     * Начальная вместимость пула пуль
+     */
+    private static final int POOL_CAPACITY = 256;
+    /**
+     * Количество пуль, создаваемых заранее при загрузке игрового экрана
+     */
+    private static final int POOL_PREWARM = 256;
+    /**
+     * Количество пуль, создаваемых за раз при нехватке свободных
+     */
+    private static final int POOL_GROW_BY = 32;
+    /**
+     * Максимальное количество пуль (при заполнении новые выстрелы не создаются).
+     * Предел выше порога параллельной проверки попаданий {@link GameController#getParallelThreshold()},
+     * чтобы нагрузочные сцены с тысячами пуль могли до него дойти; в обычной игре пуль намного меньше
+     */
+    private static final int POOL_MAX_SIZE = 4096;
     /**
      * Ссылка на основной класс, отвечающий за игровую логику {@link GameController}
      */
@@ -24,34 +44,70 @@ public class BulletController extends ObjectPool<Bullet> {
      * Половина размера изображения пули
      */
     private static final float BULLET_HALF_SIZE = 16;
+    /**
+     * Размер ячейки пространственной сетки
+     */
+    private static final float GRID_CELL_SIZE = 128.0f;
+    /**
+     * Количество корзин пространственной сетки
+     */
+    private static final int GRID_BUCKETS = 256;
+    /**
+     * Пространственная сетка, в которой зарегистрированы активные пули
+     */
+    private final SpatialHashGrid<Bullet> grid;
+    /**
+     * Максимальное расстояние, которое пролетела пуля за последний кадр.
+     * Нужно, чтобы при непрерывной проверке столкновений искать пули в расширенной области
+     */
+    private float maxStep;
+
+    /**
+     * @return пространственная сетка с активными пулями
+     */
+    public SpatialHashGrid<Bullet> getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return максимальное расстояние, которое пролетела пуля за последний кадр
+     */
+    public float getMaxStep() {
+        return maxStep;
+    }
 
     /**
      * Создание новой пули
      */
     @Override
     protected Bullet newObject() {
-        return new Bullet(gc);
+        return new Bullet(gc, this);
     }
 
     /**
      * При инициализации класса загружаем получаем пули из атласа текстур
      */
     public BulletController(GameController gc) {
+        super(POOL_CAPACITY, POOL_PREWARM, POOL_GROW_BY, POOL_MAX_SIZE, EvictionPolicy.REFUSE);
         this.gc = gc;
         this.bulletTexture = getInstance().getAtlas().findRegion("bullet");
+        this.grid = new SpatialHashGrid<Bullet>(GRID_CELL_SIZE, GRID_BUCKETS);
     }
 
     /**
      * Метод для рисования активных пуль
      */
     public void render(SpriteBatch batch) {
-        for (Bullet b : activeList) {
+        for (int i = 0; i < getActiveCount(); i++) {
+            Bullet b = getActive(i);
             batch.draw(bulletTexture, b.getPosition().x - BULLET_HALF_SIZE, b.getPosition().y - BULLET_HALF_SIZE);
         }
     }
 
     /**
-     * Метод, который устанавливает характеристики пули при ее активации
+     * Метод, который устанавливает характеристики пули при ее активации.
+     * Пуля сразу регистрируется в пространственной сетке
+     * Если пул пуль заполнен {@link #POOL_MAX_SIZE}, выстрел не создается
      *
      * @param owner кто выпуслит пулю (герой или вражеский корабль)
      * @param x     координата по оси х
@@ -60,16 +116,38 @@ public class BulletController extends ObjectPool<Bullet> {
      * @param vy    скорость по по оси у
      */
     public void setup(Ship owner, float x, float y, float vx, float vy) {
-        getActiveElement().activate(owner, x, y, vx, vy);
+        Bullet bullet = getActiveElement();
+        if (bullet == null) {
+            return;
+        }
+        bullet.activate(owner, x, y, vx, vy);
+        grid.insert(bullet, x, y);
     }
 
     /**
-     * Метод, вычисляющий изменение состояния всех активных пуль
+     * Метод, вычисляющий изменение состояния всех активных пуль.
+     * После перемещения пуль пространственная сетка перестраивается
      */
     public void update(float dt) {
-        for (Bullet bullet : activeList) {
+        for (int i = 0; i < getActiveCount(); i++) {
+            Bullet bullet = getActive(i);
             bullet.update(dt);
         }
         checkPool();
+        rebuildGrid();
+    }
+
+    /**
+     * Метод для перестроения пространственной сетки.
+     * Пули регистрируются в порядке списка активных элементов, заодно вычисляется {@link #maxStep}
+     */
+    public void rebuildGrid() {
+        grid.clear();
+        maxStep = 0.0f;
+        for (int i = 0; i < getActiveCount(); i++) {
+            Bullet b = getActive(i);
+            grid.insert(b, b.getPosition().x, b.getPosition().y);
+            maxStep = Math.max(maxStep, b.getPrevPosition().dst(b.getPosition()));
+        }
     }
 }
\ No newline at end of file
@@ -5,20 +5,42 @@ import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.StringBuilder;
+import com.star.app.game.collisions.CategoryFilter;
+import com.star.app.game.collisions.CollisionDispatcher;
+import com.star.app.game.collisions.CollisionEventQueue;
+import com.star.app.game.collisions.CollisionHandler;
+import com.star.app.game.collisions.CollisionKernel;
+import com.star.app.game.collisions.CollisionLayers;
+import com.star.app.game.collisions.CollisionStats;
+import com.star.app.game.collisions.HitShapes;
+import com.star.app.game.collisions.KernelTask;
+import com.star.app.game.collisions.QueryConsumer;
+import com.star.app.game.collisions.QueryFilter;
+import com.star.app.game.collisions.SpatialHashGrid;
+import com.star.app.game.collisions.SweepAndPrune;
+import com.star.app.game.collisions.SweptCollision;
+import com.star.app.game.collisions.WorldQuery;
 import com.star.app.game.entities.*;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.particles.ParticleSystem;
+import com.star.app.game.interfacies.Collidable;
 import com.star.app.game.interfacies.Pushable;
+import com.star.app.game.interfacies.Shaped;
 import com.star.app.screen.MenuScreen;
 import com.star.app.screen.ScreenManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static com.badlogic.gdx.graphics.Color.CYAN;
 import static com.badlogic.gdx.graphics.Color.RED;
 import static com.badlogic.gdx.math.MathUtils.random;
 import static com.star.app.game.entities.Asteroid.RANDOM_ASTEROID_SPEED;
-import static com.star.app.game.enums.OwnerType.BOT;
-import static com.star.app.game.enums.OwnerType.PLAYER;
 import static com.star.app.screen.MenuScreen.isMusicPlay;
 import static com.star.app.screen.ScreenManager.SCREEN_HEIGHT;
 import static com.star.app.screen.ScreenManager.SCREEN_WIDTH;
@@ -118,9 +140,95 @@ public class GameController {
      */
     private Sound nextLevelSound;
     /**
-     * Для работы с текстом
+     * Список-кандидатов, полученных из пространственной сетки (переиспользуется, чтобы не создавать объекты на каждом кадре)
+     */
+    private List<Bullet> bulletCandidates;
+    /**
+     * Список-кандидатов астероидов, полученных из пространственной сетки
+     */
+    private List<Asteroid> asteroidCandidates;
+    /**
+     * Режим непрерывной проверки попаданий: проверяется весь отрезок, который пуля пролетела за кадр,
+     * а не только ее текущая позиция. Позволяет не терять попадания при большом шаге времени.
+     * По умолчанию выключен, включается {@link #setSweptCollisions}
+     */
+    private boolean sweptCollisions;
+    /**
+     * Таблица обработчиков столкновений по парам слоев {@link CollisionLayers}
+     */
+    private CollisionDispatcher collisionDispatcher;
+    /**
+     * Очередь событий столкновений: проход обнаружения записывает в нее пары, реакция выполняется после прохода
+     */
+    private CollisionEventQueue collisionEvents;
+    /**
+     * Признак того, что за кадр был подобран хотя бы один бонус (звук подбора проигрывается один раз)
+     */
+    private boolean powerUpTaken;
+    /**
+     * Размер ячейки сервиса пространственных запросов
+     */
+    private static final float WORLD_CELL_SIZE = 128.0f;
+    /**
+     * Сервис пространственных запросов (поиск объектов в радиусе и ближайшего объекта)
+     */
+    private WorldQuery worldQuery;
+    /**
+     * Фильтр бонусов для запросов к {@link #worldQuery}
+     */
+    private QueryFilter powerUpFilter;
+    /**
+     * Фильтр героя для запросов к {@link #worldQuery}
+     */
+    private QueryFilter heroFilter;
+    /**
+     * Обработка бонуса, попавшего в магнитное поле героя {@link #takePowerUps()}
+     */
+    private QueryConsumer powerUpMagnet;
+    /**
+     * Режим пакетной проверки столкновений над упакованными массивами {@link CollisionKernel}
+     * (по умолчанию выключен; ядро проверяет все пары пуль и астероидов без сетки, поэтому быстрее ли оно,
+     * зависит от сцены и проверяется по {@link CollisionStats})
+     */
+    private boolean packedCollisions;
+    /**
+     * Пакетная проверка столкновений пуль и кораблей с астероидами
+     */
+    private CollisionKernel collisionKernel;
+    /**
+     * Номера астероидов, найденных {@link CollisionKernel#overlappingCircles}
+     */
+    private int[] overlapIndices;
+    /**
+     * Количество пуль, начиная с которого проверка попаданий в астероиды выполняется параллельно
+     */
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+    /**
+     * Размер порции пуль для одной параллельной задачи
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 512;
+    /**
+     * Режим параллельной проверки попаданий пуль в астероиды (используется пакетная проверка {@link CollisionKernel}).
+     * Реакция на попадания выполняется последовательно в порядке пуль, поэтому урон, очки и бонусы
+     * совпадают с последовательным режимом
+     */
+    private boolean parallelCollisions;
+    /**
+     * Количество пуль, при котором включается параллельная проверка (при меньшем количестве - последовательная)
+     */
+    private int parallelThreshold;
+    /**
+     * Пул потоков для параллельной проверки (создается при первом использовании)
+     */
+    private ForkJoinPool collisionPool;
+    /**
+     * Составные зоны поражения кораблей и астероидов {@link HitShapes}
      */
-    private StringBuilder stringBuilder;
+    private HitShapes hitShapes;
+    /**
+     * Счетчики и время фаз проверки столкновений {@link CollisionStats}
+     */
+    private CollisionStats collisionStats;
 
     /**
      *
@@ -151,6 +259,27 @@ public class GameController {
         return infoController;
     }
 
+    /**
+     * @return статистика проверки столкновений
+     */
+    public CollisionStats getCollisionStats() {
+        return collisionStats;
+    }
+
+    /**
+     * @return составные зоны поражения кораблей и астероидов
+     */
+    public HitShapes getHitShapes() {
+        return hitShapes;
+    }
+
+    /**
+     * @return сервис пространственных запросов
+     */
+    public WorldQuery getWorldQuery() {
+        return worldQuery;
+    }
+
     public BotHelper getBotHelper() {
         return botHelper;
     }
@@ -163,7 +292,14 @@ public class GameController {
         return level;
     }
 
+    /**
+     * Установка паузы (открыт магазин). На время паузы игра простаивает,
+     * поэтому при ее включении пулы объектов отпускают лишние свободные объекты {@link #trimPools()}
+     */
     public void setPause(boolean pause) {
+        if (pause && !this.pause) {
+            trimPools();
+        }
         this.pause = pause;
     }
 
@@ -195,6 +331,38 @@ public class GameController {
         return background;
     }
 
+    public boolean isSweptCollisions() {
+        return sweptCollisions;
+    }
+
+    public void setSweptCollisions(boolean sweptCollisions) {
+        this.sweptCollisions = sweptCollisions;
+    }
+
+    public boolean isPackedCollisions() {
+        return packedCollisions;
+    }
+
+    public void setPackedCollisions(boolean packedCollisions) {
+        this.packedCollisions = packedCollisions;
+    }
+
+    public boolean isParallelCollisions() {
+        return parallelCollisions;
+    }
+
+    public void setParallelCollisions(boolean parallelCollisions) {
+        this.parallelCollisions = parallelCollisions;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
     /**
      * Создание объекта:
      * 1.Инициализируются все классы и контроллеры, указанные в полях класса
@@ -206,6 +374,8 @@ public class GameController {
      * 7.Добавляются астероиды
      */
     public GameController(SpriteBatch batch) {
+        this.hitShapes = HitShapes.load(Gdx.files.internal(HitShapes.DEFAULT_PATH));
+        this.worldQuery = new WorldQuery(ScreenManager.SCREEN_WIDTH, ScreenManager.SCREEN_HEIGHT, WORLD_CELL_SIZE);
         this.background = new Background(this);
         this.botHelper = new BotHelper();
         this.hero = new Hero(this, botHelper);
@@ -214,12 +384,35 @@ public class GameController {
         this.asteroidController = new AsteroidController(this);
         this.bulletController = new BulletController(this);
         this.particleController = new ParticleController();
-        this.powerUpsController = new PowerUpsController();
+        this.powerUpsController = new PowerUpsController(this);
         this.infoController = new InfoController();
         this.stage = new Stage(ScreenManager.getInstance().getViewport(), batch);
         this.stage.addActor(hero.getShop());
         Gdx.input.setInputProcessor(stage);
-        this.stringBuilder = new StringBuilder();
+        this.bulletCandidates = new ArrayList<Bullet>();
+        this.asteroidCandidates = new ArrayList<Asteroid>();
+        this.sweptCollisions = false;
+        this.packedCollisions = false;
+        this.parallelCollisions = false;
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.collisionKernel = new CollisionKernel();
+        this.overlapIndices = new int[16];
+        this.collisionDispatcher = new CollisionDispatcher();
+        this.collisionEvents = new CollisionEventQueue();
+        this.collisionStats = new CollisionStats();
+        this.worldQuery.add(hero);
+        this.worldQuery.add(bot);
+        this.worldQuery.add(botBoss);
+        this.powerUpFilter = new CategoryFilter(CollisionLayers.POWER_UP);
+        this.heroFilter = new CategoryFilter(CollisionLayers.HERO);
+        this.powerUpMagnet = new QueryConsumer() {
+            @Override
+            public void accept(Collidable item) {
+                attractPowerUp((PowerUp) item);
+            }
+        };
+        registerCollisionHandlers();
+        prewarmPools();
         this.level = 1;
         this.tmpVec = new Vector2(0.0f, 0.0f);
         this.roundTimer = 0.0f;
@@ -236,6 +429,79 @@ public class GameController {
         createAsteroids();
     }
 
+    /**
+     * Метод для предварительного заполнения пулов объектов {@link ObjectPool#prewarm()}
+     * Вызывается при создании контроллера, т.е. пока экран загрузки переключается на игровой экран,
+     * чтобы во время игры объекты не создавались по одному в момент первого выстрела или взрыва
+     */
+    private void prewarmPools() {
+        asteroidController.prewarm();
+        bulletController.prewarm();
+        particleController.prewarm();
+        powerUpsController.prewarm();
+        infoController.prewarm();
+    }
+
+    /**
+     * Метод для освобождения памяти после пиковых нагрузок {@link ObjectPool#trim()}
+     * В каждом пуле остается не больше свободных объектов, чем создается заранее
+     */
+    private void trimPools() {
+        asteroidController.trim();
+        bulletController.trim();
+        particleController.trim();
+        powerUpsController.trim();
+        infoController.trim();
+    }
+
+    /**
+     * Метод для вывода статистики всех пулов объектов в строку (по строке на пул):
+     * количество активных и свободных элементов, наибольшее количество активных элементов,
+     * количество созданных объектов, количество кадров, в которых пулу пришлось расти,
+     * количество повторно выданных объектов и отказов при заполненном пуле, а также количество отпущенных объектов
+     *
+     * @param sb строка, в которую добавляется статистика
+     */
+    public void appendPoolStats(StringBuilder sb) {
+        appendPoolStats(sb, "asteroids", asteroidController);
+        appendPoolStats(sb, "bullets", bulletController);
+        appendPoolStats(sb, "particles", particleController);
+        ParticleSystem particles = particleController.getParticleSystem();
+        sb.append("particles(soa)")
+            .append(" active:").append(particles.getCount())
+            .append(" max:").append(particles.getHighWaterMark())
+            .append(" evict:").append(particles.getEvictedCount())
+            .append(" cull:").append(particleController.getCulledCount())
+            .append(" retire:").append(particleController.getRetiredCount())
+            .append("\n");
+        appendPoolStats(sb, "powerups", powerUpsController);
+        appendPoolStats(sb, "info", infoController);
+        particleController.getBudget().appendStats(sb);
+    }
+
+    private void appendPoolStats(StringBuilder sb, String name, ObjectPool<?> pool) {
+        sb.append(name)
+            .append(" active:").append(pool.getActiveCount())
+            .append(" free:").append(pool.getFreeCount())
+            .append(" max:").append(pool.getHighWaterMark())
+            .append(" new:").append(pool.getCreatedCount())
+            .append(" grow:").append(pool.getGrowFrames())
+            .append(" evict:").append(pool.getEvictedCount())
+            .append(" refuse:").append(pool.getRefusedCount())
+            .append(" trim:").append(pool.getTrimmedCount())
+            .append("\n");
+    }
+
+    /**
+     * Метод для записи статистики пулов объектов в лог в конце игры (перед переходом на экран проигрыша или победы)
+     * По ней подбирается количество заранее создаваемых объектов и ищутся утечки
+     */
+    private void logPoolStats() {
+        StringBuilder sb = new StringBuilder();
+        appendPoolStats(sb);
+        Gdx.app.log("ObjectPool", sb.toString());
+    }
+
     /**
      * Метод для создания астероидов
      * В зависимости от уровня создается заданное количество астероидов
@@ -289,6 +555,7 @@ public class GameController {
         powerUpsController.update(dt);
         particleController.update(dt);
         infoController.update(dt);
+        worldQuery.update();
         createHelp();
 
         if (!isBossLevel()) {
@@ -304,15 +571,14 @@ public class GameController {
             if (botBoss.getHp() < botBoss.getHpMax() / 2) {
                 botBoss.upgradeWeapon();
             }
-            checkInteractions();
-            bulletHitToShip(botBoss);
-            takePowerUps();
+            checkBossCollisions();
         }
 
         if (!hero.isAlive()) {
+            logPoolStats();
             ScreenManager.getInstance().changeScreen(GAMEOVER, hero);
         }
-        if (getAsteroidController().getActiveList().isEmpty()) {
+        if (getAsteroidController().getActiveCount() == 0) {
             if (level < BOSS_LEVEL - 1) {
                 nextLevel();
                 bot.resurrection();
@@ -328,6 +594,7 @@ public class GameController {
         }
 
         if (isBossLevel() && !botBoss.isAlive()) {
+            logPoolStats();
             ScreenManager.getInstance().changeScreen(ScreenManager.ScreenType.WIN, hero);
         }
         stage.act(dt);
@@ -335,9 +602,11 @@ public class GameController {
 
     /**
      * Переход на новый уровень
+     * Пулы объектов отпускают свободные объекты, накопленные на прошлом уровне {@link #trimPools()}
      */
     public void nextLevel() {
         level++;
+        trimPools();
         hero.setHp(hero.getHpMax());
         if (MenuScreen.isSoundPlay) {
             nextLevelSound.play();
@@ -347,157 +616,520 @@ public class GameController {
 
     /**
      * Метод для создания бонуса помощником
+     * Ближайший к помощнику герой ищется через {@link #worldQuery}
      */
     public void createHelp() {
-        if (botHelper.getHelpArea().overlaps(hero.getHitArea()) && helpTimer >= hero.getBotTimer()) {
+        if (helpTimer < hero.getBotTimer()) {
+            return;
+        }
+        Hero target = worldQuery.nearest(botHelper.getPosition().x, botHelper.getPosition().y, heroFilter);
+        if (target != null && botHelper.getHelpArea().overlaps(target.getHitArea())) {
             powerUpsController.create(botHelper.getPosition().x, botHelper.getPosition().y);
             helpTimer = 0.0f;
         }
     }
 
     /**
-     * Проверка всех видов столконвений:
+     * Регистрация обработчиков столкновений для пар слоев {@link CollisionLayers}:
+     * - пуля героя и астероид / пуля бота и астероид {@link #heroBulletHitsAsteroid}, {@link #botBulletHitsAsteroid}
+     * - пуля героя и бот / босс {@link #heroBulletHitsShip}
+     * - пуля бота и герой {@link #botBulletHitsHero}
+     * - астероид и корабль {@link #asteroidHitsShip}
+     * - астероид и астероид {@link #asteroidHitsAsteroid}
+     * - герой и бот / босс
+     * - герой и бонус {@link #takePowerUp}
+     * Обработчики вызываются не во время обнаружения столкновений, а из {@link #processCollisionEvents()},
+     * поэтому состояние объектов могло измениться после записи события (например, корабль уже уничтожен)
+     */
+    private void registerCollisionHandlers() {
+        collisionDispatcher.register(CollisionLayers.HERO_BULLET, CollisionLayers.ASTEROID, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                heroBulletHitsAsteroid((Bullet) a, (Asteroid) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.BOT_BULLET, CollisionLayers.ASTEROID, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                botBulletHitsAsteroid((Bullet) a, (Asteroid) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.HERO_BULLET, CollisionLayers.BOT, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                heroBulletHitsShip((Bullet) a, (Ship) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.HERO_BULLET, CollisionLayers.BOSS, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                heroBulletHitsShip((Bullet) a, (Ship) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.BOT_BULLET, CollisionLayers.HERO, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                botBulletHitsHero((Bullet) a);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.ASTEROID, CollisionLayers.BOT, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                asteroidHitsShip((Asteroid) a, (Ship) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.ASTEROID, CollisionLayers.HERO, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                Asteroid asteroid = (Asteroid) a;
+                if (!asteroid.isActive() || !hero.isAlive()) {
+                    return;
+                }
+                asteroidHitsShip(asteroid, hero);
+                int hurt = (int) (level * asteroid.getScale() * 5);
+                hero.takeDamage(hurt);
+                showDamage("HP -", hurt, hero.getPosition(), RED);
+                hero.addScore(asteroid.getHpMax() * 20);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.ASTEROID, CollisionLayers.ASTEROID, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                asteroidHitsAsteroid((Asteroid) a, (Asteroid) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.HERO, CollisionLayers.BOT, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                push(hero, (Ship) b);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.HERO, CollisionLayers.BOSS, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                push(hero, botBoss);
+                hero.takeDamage(1);
+                botBoss.takeDamage(1);
+            }
+        });
+        collisionDispatcher.register(CollisionLayers.HERO, CollisionLayers.POWER_UP, new CollisionHandler() {
+            @Override
+            public void onCollision(Collidable a, Collidable b) {
+                takePowerUp((PowerUp) b);
+            }
+        });
+    }
+
+    /**
+     * Проверка всех видов столконвений.
+     * Проход обнаружения только записывает события в очередь {@link #collisionEvents}:
      * астероида и героя/бота {@link #boom}
+     * астероидов между собой {@link #asteroidsCollision()}
      * попадение пули в астероид {@link #bulletHitToAsteroid}
      * попадение пули в корабль {@link #bulletHitToShip}
      * возможность подбора героем бонусов {@link #takePowerUps()}
      * столкновение героя и бота
+     * Пространственная сетка астероидов перестраивается до проверки пуль, т.к. астероиды сместились за кадр.
+     * В режимах {@link #packedCollisions} и {@link #parallelCollisions} зоны поражения астероидов один раз копируются
+     * в {@link CollisionKernel} (во время обнаружения объекты не смещаются, т.к. реакция отложена)
+     * После прохода обнаружения выполняется реакция на все события {@link #processCollisionEvents()}
      */
     public void checkCollisions() {
+        collisionStats.begin(CollisionStats.TOTAL);
+        if (isKernelUsed()) {
+            collisionKernel.loadCircles(asteroidController);
+        }
         boom(hero);
         boom(bot);
+        asteroidsCollision();
+        asteroidController.rebuildGrid();
         bulletHitToAsteroid();
         bulletHitToShip(bot);
         takePowerUps();
 
         //столкновение героя и бота
-        if (hero.getHitArea().overlaps(bot.getHitArea()) && bot.isAlive()) {
-            push(hero, bot);
+        collisionStats.begin(CollisionStats.SHIPS);
+        if (bot.isAlive() && CollisionLayers.canCollide(hero, bot)) {
+            collisionStats.addCandidates(CollisionStats.SHIPS, 1);
+            collisionStats.addTests(CollisionStats.SHIPS, 1);
+            if (hero.getHitArea().overlaps(bot.getHitArea())) {
+                collisionEvents.add(hero, bot);
+                collisionStats.addHits(CollisionStats.SHIPS, 1);
+            }
+        }
+        collisionStats.end(CollisionStats.SHIPS);
+        processCollisionEvents();
+        collisionStats.end(CollisionStats.TOTAL);
+        collisionStats.endFrame();
+    }
+
+    /**
+     * Проверка столкновений на уровне с боссом:
+     * столкновение героя и босса {@link #checkInteractions()},
+     * попадание пуль в босса и героя {@link #bulletHitToShip},
+     * подбор бонусов {@link #takePowerUps()},
+     * после чего выполняется реакция на все события {@link #processCollisionEvents()}
+     */
+    private void checkBossCollisions() {
+        collisionStats.begin(CollisionStats.TOTAL);
+        checkInteractions();
+        bulletHitToShip(botBoss);
+        takePowerUps();
+        processCollisionEvents();
+        collisionStats.end(CollisionStats.TOTAL);
+        collisionStats.endFrame();
+    }
+
+    /**
+     * @return используется ли пакетная проверка {@link CollisionKernel}
+     */
+    private boolean isKernelUsed() {
+        return packedCollisions || parallelCollisions;
+    }
+
+    /**
+     * Реакция на столкновения, записанные проходом обнаружения:
+     * 1.События обрабатываются пачками по парам слоев {@link CollisionEventQueue#process}
+     * 2.Сообщения об уроне одному объекту объединяются в одно {@link InfoController#flushDamage()}
+     * 3.Звук подбора бонусов проигрывается один раз за кадр
+     */
+    private void processCollisionEvents() {
+        collisionStats.begin(CollisionStats.RESPONSE);
+        collisionStats.addHits(CollisionStats.RESPONSE, collisionEvents.size());
+        powerUpTaken = false;
+        collisionEvents.process(collisionDispatcher);
+        infoController.flushDamage();
+        if (powerUpTaken && MenuScreen.isSoundPlay) {
+            powerUpSound.play();
         }
+        collisionStats.end(CollisionStats.RESPONSE);
     }
 
     /**
      * Метод для подбора бонусов
-     * Если бонус попал в магнитное поле героя, то он притягивается к нему
-     * Если бонус попал в зону поражения героя, то бонус подобран. Добавляется эффект {@link ParticleController.EffectBuilder#takePowerUpEffect}и звук
+     * Бонусы в радиусе магнитного поля (или зоны поражения, если она больше) запрашиваются у {@link #worldQuery}
+     * и обрабатываются {@link #attractPowerUp}
      */
     private void takePowerUps() {
-        for (int i = 0; i < powerUpsController.getActiveList().size(); i++) {
-            PowerUp p = powerUpsController.getActiveList().get(i);
-            if (hero.getSearchArea().contains(p.getPosition())) {
-                tmpVec.set(hero.getPosition()).sub(p.getPosition()).nor();
-                p.getVelocity().mulAdd(tmpVec, 200.0f);
+        collisionStats.begin(CollisionStats.POWER_UPS);
+        float radius = Math.max(hero.getSearchArea().radius, hero.getHitArea().radius);
+        worldQuery.queryRadius(hero.getPosition().x, hero.getPosition().y, radius, powerUpFilter, powerUpMagnet);
+        collisionStats.end(CollisionStats.POWER_UPS);
+    }
+
+    /**
+     * Если бонус попал в магнитное поле героя, то он притягивается к нему
+     * Если бонус попал в зону поражения героя, то записывается событие подбора {@link #takePowerUp}
+     */
+    private void attractPowerUp(PowerUp p) {
+        collisionStats.addCandidates(CollisionStats.POWER_UPS, 1);
+        collisionStats.addTests(CollisionStats.POWER_UPS, 1);
+        if (hero.getSearchArea().contains(p.getPosition())) {
+            tmpVec.set(hero.getPosition()).sub(p.getPosition()).nor();
+            p.getVelocity().mulAdd(tmpVec, 200.0f);
+        }
+        if (hero.getHitArea().contains(p.getPosition())) {
+            collisionEvents.add(hero, p);
+            collisionStats.addHits(CollisionStats.POWER_UPS, 1);
+        }
+    }
+
+    /**
+     * Подбор бонуса героем: бонус применяется, добавляется эффект {@link ParticleController.EffectBuilder#takePowerUpEffect},
+     * бонус деактивируется
+     */
+    private void takePowerUp(PowerUp p) {
+        if (!p.isActive()) {
+            return;
+        }
+        hero.consume(p);
+        particleController.getEffectBuilder().takePowerUpEffect(
+            p.getPosition().x, p.getPosition().y, p.getType());
+        p.deactivate();
+        powerUpTaken = true;
+    }
+
+    /**
+     * Метод проверки попадения пули в астероид
+     * Для каждой пули проверяются только астероиды из той же ячейки пространственной сетки {@link AsteroidController#getGrid()}.
+     * Астероиды в ячейке хранятся в порядке списка активных элементов, поэтому пуля попадает в тот же астероид, что и при полном переборе
+     * В режиме {@link #sweptCollisions} цель ищется по отрезку, пройденному пулей за кадр {@link #findSweptTarget}
+     * Пули, маска которых не включает слой астероидов, отбрасываются до геометрической проверки.
+     * Реакция на попадание выбирается по слою пули {@link #registerCollisionHandlers()}
+     */
+    private void bulletHitToAsteroid() {
+        collisionStats.begin(CollisionStats.BULLET_ASTEROID);
+        if (isKernelUsed()) {
+            bulletHitToAsteroidPacked();
+        } else {
+            for (int i = 0; i < bulletController.getActiveCount(); i++) {
+                Bullet b = bulletController.getActive(i);
+                if ((b.getMask() & CollisionLayers.ASTEROID) == 0) {
+                    continue;
+                }
+                Asteroid a = sweptCollisions ? findSweptTarget(b) : findTarget(b);
+                if (a != null) {
+                    collisionEvents.add(b, a);
+                    collisionStats.addHits(CollisionStats.BULLET_ASTEROID, 1);
+                }
+            }
+        }
+        collisionStats.end(CollisionStats.BULLET_ASTEROID);
+    }
+
+    /**
+     * Пакетный вариант {@link #bulletHitToAsteroid()}:
+     * координаты пуль копируются в {@link CollisionKernel}, попадания во все астероиды проверяются одним проходом.
+     * Ядро выбирает для пули первый в порядке загрузки астероид, описанный круг которого содержит пулю,
+     * а в режиме {@link #sweptCollisions} - астероид, описанного круга которого отрезок пули касается раньше всего.
+     * Ядро проверяет только описанные круги, поэтому найденное попадание уточняется по составной зоне поражения {@link #isHit},
+     * а при промахе цель ищется через сетку.
+     * Если пуля задевает несколько астероидов сразу, выбранный астероид может отличаться от найденного через сетку
+     * В режиме {@link #parallelCollisions} при количестве пуль не меньше {@link #parallelThreshold}
+     * пули делятся на порции, которые проверяются в {@link ForkJoinPool} {@link KernelTask}.
+     * События записываются после проверки в порядке пуль, поэтому результат не зависит от количества потоков
+     */
+    private void bulletHitToAsteroidPacked() {
+        collisionKernel.clearPoints();
+        for (int i = 0; i < bulletController.getActiveCount(); i++) {
+            Bullet b = bulletController.getActive(i);
+            if ((b.getMask() & CollisionLayers.ASTEROID) == 0) {
+                continue;
             }
-            if (hero.getHitArea().contains(p.getPosition())) {
-                hero.consume(p);
-                particleController.getEffectBuilder().takePowerUpEffect(
-                    p.getPosition().x, p.getPosition().y, p.getType());
-                p.deactivate();
-                if (MenuScreen.isSoundPlay) {
-                    powerUpSound.play();
+            collisionKernel.addPoint(b, b.getPosition().x, b.getPosition().y,
+                b.getPrevPosition().x, b.getPrevPosition().y);
+        }
+        if (parallelCollisions && collisionKernel.getPointCount() >= parallelThreshold) {
+            if (collisionPool == null) {
+                collisionPool = new ForkJoinPool();
+            }
+            collisionPool.invoke(new KernelTask(collisionKernel, sweptCollisions,
+                0, collisionKernel.getPointCount(), PARALLEL_CHUNK_SIZE));
+        } else if (sweptCollisions) {
+            collisionKernel.segmentsVsCircles();
+        } else {
+            collisionKernel.pointsInCircles();
+        }
+        int pairs = collisionKernel.getPointCount() * collisionKernel.getCircleCount();
+        collisionStats.addCandidates(CollisionStats.BULLET_ASTEROID, pairs);
+        collisionStats.addTests(CollisionStats.BULLET_ASTEROID, pairs);
+        for (int i = 0; i < collisionKernel.getPointCount(); i++) {
+            int hit = collisionKernel.getHit(i);
+            if (hit != CollisionKernel.NO_HIT) {
+                Bullet b = collisionKernel.getPoint(i);
+                Asteroid a = collisionKernel.getCircle(hit);
+                collisionStats.addTests(CollisionStats.BULLET_ASTEROID, 1);
+                if (!isHit(b, a)) {
+                    // пуля задела только описанный круг: уточняем цель по составным формам
+                    a = sweptCollisions ? findSweptTarget(b) : findTarget(b);
+                }
+                if (a != null) {
+                    collisionEvents.add(b, a);
+                    collisionStats.addHits(CollisionStats.BULLET_ASTEROID, 1);
                 }
             }
         }
     }
 
     /**
-     * Метод проверки попадения пули в астероид
-     * Если пуля попала в астероид, то:
+     * Попадание пули героя в астероид:
      * - добавляется эффект {@link ParticleController.EffectBuilder#bulletCollideWithAsteroidEffect}
      * - пуля деактивироуется
-     * Если пуля принадлежит герою, то наносимый урон вычисляется как текущий урон оружия героя +вероятность критического удара
-     * Если пуля принадлежит боту, то наносимый урон - текущий урон оружия бота
-     * Астероид получает урон.
-     * Если пуля принадлежит герою, то герою начилсяются очки и создаются бонусы
+     * - наносимый урон вычисляется как текущий урон оружия героя + вероятность критического удара
+     * - астероид получает урон
+     * - если астероид уничтожен, то герою начилсяются очки и создаются бонусы
+     * Если пуля или астероид выведены из игры предыдущим событием того же кадра, то событие пропускается
      */
-    private void bulletHitToAsteroid() {
-        for (int i = 0; i < bulletController.getActiveList().size(); i++) {
-            Bullet b = bulletController.getActiveList().get(i);
-            for (int j = 0; j < asteroidController.getActiveList().size(); j++) {
-                Asteroid a = asteroidController.getActiveList().get(j);
-                if (a.getHitArea().contains(b.getPosition())) {
-
-                    particleController.getEffectBuilder()
-                        .bulletCollideWithAsteroidEffect(b.getPosition(), b.getVelocity());
-
-                    b.deactivate();
-
-                    int damage = 0;
-                    if (b.getOwner().getOwnerType() == PLAYER) {
-                        damage = hero.getCurrentWeapon().getDamage();
-                        if (random(0, 100) <= hero.getCritical()) {
-                            damage *= 3;
-                            showDamage("-", damage, a.getPosition(), Color.PURPLE);
-                        } else {
-                            damage = bot.getCurrentWeapon().getDamage();
-                        }
-                    }
-                    if (a.takeDamage(damage)) {
-                        if (b.getOwner().getOwnerType() == PLAYER) {
-                            hero.addScore(a.getHpMax() * 100);
-                            for (int k = 0; k < 3; k++) {
-                                powerUpsController.setup(a.getPosition().x, a.getPosition().y, a.getScale() / 4.0f);
-                            }
-                        }
-                    }
-                    break;
-                }
+    private void heroBulletHitsAsteroid(Bullet b, Asteroid a) {
+        if (!b.isActive() || !a.isActive()) {
+            return;
+        }
+        particleController.getEffectBuilder()
+            .bulletCollideWithAsteroidEffect(b.getPosition(), b.getVelocity());
+        b.deactivate();
+
+        int damage = hero.getCurrentWeapon().getDamage();
+        if (random(0, 100) <= hero.getCritical()) {
+            damage *= 3;
+            showDamage("-", damage, a.getPosition(), Color.PURPLE);
+        } else {
+            damage = bot.getCurrentWeapon().getDamage();
+        }
+        if (a.takeDamage(damage)) {
+            hero.addScore(a.getHpMax() * 100);
+            for (int k = 0; k < 3; k++) {
+                powerUpsController.setup(a.getPosition().x, a.getPosition().y, a.getScale() / 4.0f);
+            }
+        }
+    }
+
+    /**
+     * Попадание пули бота в астероид: эффект попадания, пуля деактивируется, урон астероиду не наносится
+     * Если пуля или астероид выведены из игры предыдущим событием того же кадра, то событие пропускается
+     */
+    private void botBulletHitsAsteroid(Bullet b, Asteroid a) {
+        if (!b.isActive() || !a.isActive()) {
+            return;
+        }
+        particleController.getEffectBuilder()
+            .bulletCollideWithAsteroidEffect(b.getPosition(), b.getVelocity());
+        b.deactivate();
+        a.takeDamage(0);
+    }
+
+    /**
+     * Поиск астероида, в который попала пуля (проверяется текущая позиция пули).
+     * Просматривается только ячейка сетки, в которой находится пуля
+     *
+     * @param b пуля
+     * @return первый астероид в порядке списка активных элементов, содержащий пулю, или null
+     */
+    private Asteroid findTarget(Bullet b) {
+        SpatialHashGrid<Asteroid> grid = asteroidController.getGrid();
+        int bucket = grid.bucketIndex(b.getPosition().x, b.getPosition().y);
+        collisionStats.addCandidates(CollisionStats.BULLET_ASTEROID, grid.getBucketSize(bucket));
+        for (int j = 0; j < grid.getBucketSize(bucket); j++) {
+            Asteroid a = grid.get(bucket, j);
+            collisionStats.addTests(CollisionStats.BULLET_ASTEROID, 1);
+            if (a.getHitShape().contains(a.getHitArea(), a.getAngle(), b.getPosition().x, b.getPosition().y)) {
+                return a;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Поиск астероида, в который попала пуля, по отрезку, пройденному пулей за кадр.
+     * Из сетки берутся астероиды в области, которая покрывает отрезок.
+     * Если отрезок задевает несколько астероидов, то выбирается тот, которого пуля коснулась раньше
+     *
+     * @param b пуля
+     * @return астероид или null
+     */
+    private Asteroid findSweptTarget(Bullet b) {
+        Vector2 from = b.getPrevPosition();
+        Vector2 to = b.getPosition();
+        asteroidController.getGrid().query((from.x + to.x) / 2.0f, (from.y + to.y) / 2.0f,
+            from.dst(to) / 2.0f, asteroidCandidates);
+        collisionStats.addCandidates(CollisionStats.BULLET_ASTEROID, asteroidCandidates.size());
+        collisionStats.addTests(CollisionStats.BULLET_ASTEROID, asteroidCandidates.size());
+        Asteroid target = null;
+        float minT = Float.MAX_VALUE;
+        for (int j = 0; j < asteroidCandidates.size(); j++) {
+            Asteroid a = asteroidCandidates.get(j);
+            float t = a.getHitShape().segmentHit(a.getHitArea(), a.getAngle(), from, to);
+            if (t != SweptCollision.NO_HIT && t < minT) {
+                minT = t;
+                target = a;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Проверка попадания пули в составную зону поражения цели с учетом режима {@link #sweptCollisions}
+     * Сначала проверяется описанный круг, вложенные круги - только при попадании в него
+     *
+     * @param b      пуля
+     * @param target цель
+     */
+    private boolean isHit(Bullet b, Shaped target) {
+        if (sweptCollisions) {
+            return target.getHitShape().segmentHit(target.getHitArea(), target.getAngle(),
+                b.getPrevPosition(), b.getPosition()) != SweptCollision.NO_HIT;
+        }
+        return target.getHitShape().contains(target.getHitArea(), target.getAngle(),
+            b.getPosition().x, b.getPosition().y);
+    }
+
+    /**
+     * Метод попадения пуль в корабль и в героя {@link #bulletHitToTarget}
+     *
+     * @param ship вражеский корабль
+     */
+    private void bulletHitToShip(Ship ship) {
+        bulletHitToTarget(ship);
+        bulletHitToTarget(hero);
+    }
+
+    /**
+     * Метод попадения пуль в корабль
+     * Проверяются только пули из ячеек пространственной сетки {@link BulletController#getGrid()}, которые перекрывает зона поражения корабля,
+     * расширенная на максимальный путь пули за кадр (для режима {@link #sweptCollisions})
+     * Пули, маска которых не включает слой корабля (например, пули самого корабля), отбрасываются одним побитовым И до геометрической проверки.
+     * Реакция на попадание выбирается по паре слоев {@link #registerCollisionHandlers()}
+     *
+     * @param target корабль, в который могут попасть пули
+     */
+    private void bulletHitToTarget(Ship target) {
+        collisionStats.begin(CollisionStats.BULLET_SHIP);
+        int category = target.getCategory();
+        bulletController.getGrid().query(target.getHitArea().x, target.getHitArea().y,
+            target.getHitArea().radius + bulletController.getMaxStep(), bulletCandidates);
+        collisionStats.addCandidates(CollisionStats.BULLET_SHIP, bulletCandidates.size());
+        for (int i = 0; i < bulletCandidates.size(); i++) {
+            Bullet b = bulletCandidates.get(i);
+            if ((b.getMask() & category) == 0 || !target.isAlive()) {
+                continue;
+            }
+            collisionStats.addTests(CollisionStats.BULLET_SHIP, 1);
+            if (isHit(b, target)) {
+                collisionEvents.add(b, target);
+                collisionStats.addHits(CollisionStats.BULLET_SHIP, 1);
             }
         }
+        collisionStats.end(CollisionStats.BULLET_SHIP);
     }
 
     /**
-     * Метод попадения пули в корабль
-     * <p>
-     * Если пуля принадлежит герою и бот жив и пуля попадает во вражеский корабль:
-     * - если бот это бот босс, то создается бонус
+     * Попадание пули героя во вражеский корабль:
+     * - при попадании в главного бота может быть создан бонус {@link #createPowerUps}
      * - пуля деактивируется
      * - в зависимости от вероятности критического удара корабль получает урон
      * - отображается сообщение об уроне
      * - герой получает очки
      * - если корабль уничтожен, то добавляется эффект {@link ParticleController.EffectBuilder#botIsDeadEffect}
-     * <p>
-     * Если пуля принадлежит вражескому кораблю и попадает в героя:
-     * -герой получает урон
-     * -отображется сообщение об уроне
-     * - пуля деактивируется
-     *
-     * @param ship вражеский корабль
+     * Если пуля уже погашена или корабль уничтожен предыдущим событием того же кадра, то событие пропускается
      */
-    private void bulletHitToShip(Ship ship) {
-        for (int i = 0; i < bulletController.getActiveList().size(); i++) {
-            Bullet b = bulletController.getActiveList().get(i);
-            if (b.getOwner().getOwnerType() == PLAYER && ship.isAlive()) {
-                if (ship.getHitArea().contains(b.getPosition())) {
-                    if (ship instanceof BotBoss) {
-                        createPowerUps();
-                    }
-                    b.deactivate();
-                    int damage = hero.getCurrentWeapon().getDamage();
-                    if (random(0, 100) < hero.getCritical()) {
-                        damage *= 3;
-                    }
-
-                    ship.takeDamage(damage);
-                    showDamage("HP -", damage, ship.getPosition(), CYAN);
-                    hero.addScore(ship.getHpMax() * 100);
-
-                    if (!ship.isAlive()) {
-                        particleController.getEffectBuilder().botIsDeadEffect(ship.getPosition().x, ship.getPosition().y);
-                    }
-                }
-            }
+    private void heroBulletHitsShip(Bullet b, Ship ship) {
+        if (!b.isActive() || !ship.isAlive()) {
+            return;
+        }
+        if (ship == botBoss) {
+            createPowerUps();
+        }
+        b.deactivate();
+        int damage = hero.getCurrentWeapon().getDamage();
+        if (random(0, 100) < hero.getCritical()) {
+            damage *= 3;
+        }
 
-            if (b.getOwner().getOwnerType() == BOT) {
-                if (hero.getHitArea().contains(b.getPosition())) {
-                    hero.takeDamage(ship.getCurrentWeapon().getDamage());
-                    showDamage("HP -", ship.getCurrentWeapon().getDamage(), hero.getPosition(), RED);
-                    b.deactivate();
-                }
-            }
+        ship.takeDamage(damage);
+        showDamage("HP -", damage, ship.getPosition(), CYAN);
+        hero.addScore(ship.getHpMax() * 100);
+
+        if (!ship.isAlive()) {
+            particleController.getEffectBuilder().botIsDeadEffect(ship.getPosition().x, ship.getPosition().y);
         }
     }
 
+    /**
+     * Попадание пули вражеского корабля в героя:
+     * - герой получает урон оружия корабля, выпустившего пулю (запомнен пулей в момент выстрела)
+     * - отображется сообщение об уроне
+     * - пуля деактивируется
+     * Если пуля уже погашена или герой погиб предыдущим событием того же кадра, то событие пропускается
+     */
+    private void botBulletHitsHero(Bullet b) {
+        if (!b.isActive() || !hero.isAlive()) {
+            return;
+        }
+        int damage = b.getDamage();
+        hero.takeDamage(damage);
+        showDamage("HP -", damage, hero.getPosition(), RED);
+        b.deactivate();
+    }
+
     /**
      * Создание бонуса при попадении в главного бота
      */
@@ -509,6 +1141,7 @@ public class GameController {
 
     /**
      * Метод для отображения урона
+     * Сообщение накапливается и выводится в конце реакции на столкновения {@link InfoController#addDamage}
      *
      * @param str      текст
      * @param damage   нанесенный урон
@@ -516,43 +1149,146 @@ public class GameController {
      * @param color    цвет
      */
     private void showDamage(String str, int damage, Vector2 position, Color color) {
-        stringBuilder.clear();
-        stringBuilder.append(str).append(damage);
-        infoController.setup(position.x, position.y,
-            stringBuilder, color);
+        infoController.addDamage(str, damage, position, color);
     }
 
     /**
-     * Столкновение астероида и корабля
-     *Если корабль столкнулся с астероидом, то:
-     * они отталкиваются друг от друга и им придаются ускорения в противоположные друг от друга стороны
-     * если корабль - герой, то он получает урон
-     * @param ship
+     * Столкновение астероидов и корабля
+     * Астероиды, маска которых не включает слой корабля, отбрасываются до геометрической проверки.
+     * Реакция на столкновение выбирается по паре слоев {@link #registerCollisionHandlers()}
+     *
+     * @param ship корабль
      */
     private void boom(Ship ship) {
-        for (int i = 0; i < asteroidController.getActiveList().size(); i++) {
-            Asteroid a = asteroidController.getActiveList().get(i);
-            if (a.getHitArea().overlaps(ship.getHitArea()) && ship.isAlive()) {
-                push(a, ship);
-
-                float sumScl = ship.getHitArea().radius * 2 + a.getHitArea().radius;
-
-                ship.getVelocity().mulAdd(tmpVec, 200.0f * a.getHitArea().radius / sumScl);
-                a.getVelocity().mulAdd(tmpVec, -200.0f * ship.getHitArea().radius / sumScl);
-
-                a.takeDamage(2);
-                if (ship instanceof Hero) {
-                    int hurt = (int) (level * a.getScale() * 5);
-                    hero.takeDamage(hurt);
-                    showDamage("HP -", hurt, hero.getPosition(), RED);
-                    ((Hero) ship).addScore(a.getHpMax() * 20);
+        collisionStats.begin(CollisionStats.BOOM);
+        if (packedCollisions) {
+            boomPacked(ship);
+        } else {
+            int category = ship.getCategory();
+            collisionStats.addCandidates(CollisionStats.BOOM, asteroidController.getActiveCount());
+            for (int i = 0; i < asteroidController.getActiveCount(); i++) {
+                Asteroid a = asteroidController.getActive(i);
+                if ((a.getMask() & category) == 0 || !ship.isAlive()) {
+                    continue;
+                }
+                collisionStats.addTests(CollisionStats.BOOM, 1);
+                if (overlaps(a, ship)) {
+                    collisionEvents.add(a, ship);
+                    collisionStats.addHits(CollisionStats.BOOM, 1);
                 }
             }
         }
+        collisionStats.end(CollisionStats.BOOM);
+    }
+
+    /**
+     * Пакетный вариант {@link #boom}: пересечения зоны поражения корабля со всеми астероидами
+     * проверяются одним проходом по упакованным массивам {@link CollisionKernel#overlappingCircles}
+     *
+     * @param ship корабль
+     */
+    private void boomPacked(Ship ship) {
+        if (!ship.isAlive()) {
+            return;
+        }
+        if (overlapIndices.length < collisionKernel.getCircleCount()) {
+            overlapIndices = new int[collisionKernel.getCircleCount() * 2];
+        }
+        Circle hitArea = ship.getHitArea();
+        int found = collisionKernel.overlappingCircles(hitArea.x, hitArea.y, hitArea.radius, overlapIndices);
+        collisionStats.addCandidates(CollisionStats.BOOM, collisionKernel.getCircleCount());
+        collisionStats.addTests(CollisionStats.BOOM, collisionKernel.getCircleCount() + found);
+        int category = ship.getCategory();
+        for (int i = 0; i < found; i++) {
+            Asteroid a = collisionKernel.getCircle(overlapIndices[i]);
+            if ((a.getMask() & category) != 0 && overlaps(a, ship)) {
+                collisionEvents.add(a, ship);
+                collisionStats.addHits(CollisionStats.BOOM, 1);
+            }
+        }
+    }
+
+    /**
+     * Проверка пересечения составных зон поражения (описанные круги проверяются первыми)
+     */
+    private boolean overlaps(Shaped a, Shaped b) {
+        return a.getHitShape().overlaps(a.getHitArea(), a.getAngle(), b.getHitShape(), b.getHitArea(), b.getAngle());
+    }
+
+    /**
+     * Столкновение астероидов между собой
+     * Пары-кандидаты находит широкая фаза {@link AsteroidController#getSweepAndPrune()},
+     * после чего для каждой пары выполняется точная проверка пересечения зон поражения
+     */
+    private void asteroidsCollision() {
+        collisionStats.begin(CollisionStats.ASTEROIDS);
+        SweepAndPrune<Asteroid> sweepAndPrune = asteroidController.getSweepAndPrune();
+        sweepAndPrune.update();
+        collisionStats.addCandidates(CollisionStats.ASTEROIDS, sweepAndPrune.getPairCount());
+        for (int i = 0; i < sweepAndPrune.getPairCount(); i++) {
+            Asteroid a = sweepAndPrune.getPairA(i);
+            Asteroid b = sweepAndPrune.getPairB(i);
+            if (!CollisionLayers.canCollide(a, b)) {
+                continue;
+            }
+            collisionStats.addTests(CollisionStats.ASTEROIDS, 1);
+            if (a.getHitArea().overlaps(b.getHitArea())) {
+                collisionEvents.add(a, b);
+                collisionStats.addHits(CollisionStats.ASTEROIDS, 1);
+            }
+        }
+        collisionStats.end(CollisionStats.ASTEROIDS);
+    }
+
+    /**
+     * Столкновение двух астероидов:
+     * 1.Астероиды расталкиваются {@link #push}
+     * 2.Если астероиды сближаются, то они обмениваются импульсом вдоль линии центров (упругий удар).
+     * Масса астероида считается пропорциональной квадрату радиуса
+     * Если один из астероидов разрушен предыдущим событием того же кадра, то событие пропускается
+     */
+    private void asteroidHitsAsteroid(Asteroid a, Asteroid b) {
+        if (!a.isActive() || !b.isActive()) {
+            return;
+        }
+        push(a, b);
+        a.getHitArea().setPosition(a.getPosition());
+        b.getHitArea().setPosition(b.getPosition());
+        float approachSpeed = (b.getVelocity().x - a.getVelocity().x) * tmpVec.x
+            + (b.getVelocity().y - a.getVelocity().y) * tmpVec.y;
+        if (approachSpeed >= 0.0f) {
+            return;
+        }
+        float massA = a.getHitArea().radius * a.getHitArea().radius;
+        float massB = b.getHitArea().radius * b.getHitArea().radius;
+        float impulse = -2.0f * approachSpeed / (1.0f / massA + 1.0f / massB);
+        a.getVelocity().mulAdd(tmpVec, -impulse / massA);
+        b.getVelocity().mulAdd(tmpVec, impulse / massB);
+    }
+
+    /**
+     * Столкновение астероида и корабля:
+     * они отталкиваются друг от друга и им придаются ускорения в противоположные друг от друга стороны,
+     * астероид получает урон
+     * Если астероид разрушен или корабль уничтожен предыдущим событием того же кадра, то событие пропускается
+     */
+    private void asteroidHitsShip(Asteroid a, Ship ship) {
+        if (!a.isActive() || !ship.isAlive()) {
+            return;
+        }
+        push(a, ship);
+
+        float sumScl = ship.getHitArea().radius * 2 + a.getHitArea().radius;
+
+        ship.getVelocity().mulAdd(tmpVec, 200.0f * a.getHitArea().radius / sumScl);
+        a.getVelocity().mulAdd(tmpVec, -200.0f * ship.getHitArea().radius / sumScl);
+
+        a.takeDamage(2);
     }
 
     /**
      * Метод для отталкивания объектов, реализующий интерфейс {@link Pushable}
+     * После вызова в tmpVec остается единичный вектор от первого объекта ко второму
      */
     private void push(Pushable somebody1, Pushable somebody2) {
         float dst = somebody1.getPosition().dst(somebody2.getPosition());
@@ -567,11 +1303,16 @@ public class GameController {
      * Если они столкнулись, то они отталкиваются друг от друга и каждый получает урон
      */
     private void checkInteractions() {
-        if (hero.getHitArea().overlaps(botBoss.getHitArea())) {
-            push(hero, botBoss);
-            hero.takeDamage(1);
-            botBoss.takeDamage(1);
+        collisionStats.begin(CollisionStats.SHIPS);
+        if (CollisionLayers.canCollide(hero, botBoss)) {
+            collisionStats.addCandidates(CollisionStats.SHIPS, 1);
+            collisionStats.addTests(CollisionStats.SHIPS, 1);
+            if (hero.getHitArea().overlaps(botBoss.getHitArea())) {
+                collisionEvents.add(hero, botBoss);
+                collisionStats.addHits(CollisionStats.SHIPS, 1);
+            }
         }
+        collisionStats.end(CollisionStats.SHIPS);
     }
 
     /**
@@ -579,6 +1320,10 @@ public class GameController {
      */
     public void dispose() {
         background.dispose();
+        particleController.dispose();
+        if (collisionPool != null) {
+            collisionPool.shutdown();
+        }
         Gdx.input.setInputProcessor(null);
     }
 }
@@ -3,16 +3,74 @@ package com.star.app.game.controllers;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.StringBuilder;
 import com.star.app.game.entities.InfoText;
+import com.star.app.game.enums.EvictionPolicy;
 import com.star.app.game.helpers.ObjectPool;
 
+import java.util.Arrays;
+
 import static com.badlogic.gdx.graphics.Color.WHITE;
 
 /**
  * Контроллер для появляющегося текста
  */
 public class InfoController extends ObjectPool<InfoText> {
+    /**
+     * Начальная вместимость пула сообщений
+     */
+    private static final int POOL_CAPACITY = 16;
+    /**
+     * Количество сообщений, создаваемых заранее при загрузке игрового экрана
+     */
+    private static final int POOL_PREWARM = 16;
+    /**
+     * Количество сообщений, создаваемых за раз при нехватке свободных
+     */
+    private static final int POOL_GROW_BY = 4;
+    /**
+     * Максимальное количество одновременно выводимых сообщений (при заполнении заменяется самое старое)
+     */
+    private static final int POOL_MAX_SIZE = 32;
+    /**
+     * Начальная вместимость буфера накопленного урона
+     */
+    private static final int DAMAGE_CAPACITY = 16;
+    /**
+     * Позиции объектов, получивших урон за кадр
+     */
+    private Vector2[] damagePositions;
+    /**
+     * Текст перед величиной урона
+     */
+    private String[] damagePrefixes;
+    /**
+     * Цвет сообщения об уроне
+     */
+    private Color[] damageColors;
+    /**
+     * Накопленный урон
+     */
+    private int[] damageAmounts;
+    /**
+     * Количество накопленных сообщений
+     */
+    private int damageCount;
+    /**
+     * Строка для формирования сообщения
+     */
+    private StringBuilder stringBuilder;
+
+    public InfoController() {
+        super(POOL_CAPACITY, POOL_PREWARM, POOL_GROW_BY, POOL_MAX_SIZE, EvictionPolicy.OLDEST_FIRST);
+        this.damagePositions = new Vector2[DAMAGE_CAPACITY];
+        this.damagePrefixes = new String[DAMAGE_CAPACITY];
+        this.damageColors = new Color[DAMAGE_CAPACITY];
+        this.damageAmounts = new int[DAMAGE_CAPACITY];
+        this.stringBuilder = new StringBuilder();
+    }
+
     /**
      * Создание нового объекта
      *
@@ -20,7 +78,7 @@ public class InfoController extends ObjectPool<InfoText> {
      */
     @Override
     protected InfoText newObject() {
-        return new InfoText();
+        return new InfoText(this);
     }
 
     /**
@@ -51,6 +109,51 @@ public class InfoController extends ObjectPool<InfoText> {
         infoText.setup(x, y, text.toString(), color);
     }
 
+    /**
+     * Накопление сообщения об уроне.
+     * Урон, нанесенный одному объекту за кадр с одинаковым текстом и цветом, суммируется,
+     * и вместо нескольких наложенных друг на друга сообщений выводится одно {@link #flushDamage()}
+     *
+     * @param prefix   текст перед величиной урона
+     * @param damage   нанесенный урон
+     * @param position позиция объекта, получившего урон (сообщение появится в ней при выводе)
+     * @param color    цвет текста
+     */
+    public void addDamage(String prefix, int damage, Vector2 position, Color color) {
+        for (int i = 0; i < damageCount; i++) {
+            if (damagePositions[i] == position && damageColors[i] == color && damagePrefixes[i].equals(prefix)) {
+                damageAmounts[i] += damage;
+                return;
+            }
+        }
+        if (damageCount == damageAmounts.length) {
+            damagePositions = Arrays.copyOf(damagePositions, damageCount * 2);
+            damagePrefixes = Arrays.copyOf(damagePrefixes, damageCount * 2);
+            damageColors = Arrays.copyOf(damageColors, damageCount * 2);
+            damageAmounts = Arrays.copyOf(damageAmounts, damageCount * 2);
+        }
+        damagePositions[damageCount] = position;
+        damagePrefixes[damageCount] = prefix;
+        damageColors[damageCount] = color;
+        damageAmounts[damageCount] = damage;
+        damageCount++;
+    }
+
+    /**
+     * Вывод накопленных сообщений об уроне {@link #addDamage} и очистка буфера
+     */
+    public void flushDamage() {
+        for (int i = 0; i < damageCount; i++) {
+            stringBuilder.clear();
+            stringBuilder.append(damagePrefixes[i]).append(damageAmounts[i]);
+            setup(damagePositions[i].x, damagePositions[i].y, stringBuilder, damageColors[i]);
+            damagePositions[i] = null;
+            damagePrefixes[i] = null;
+            damageColors[i] = null;
+        }
+        damageCount = 0;
+    }
+
     /**
      * Метод для рисования:
      * 1.Проходит по всем активным элементам
@@ -62,8 +165,8 @@ public class InfoController extends ObjectPool<InfoText> {
      * @param font  шрифт для вывода текста
      */
     public void render(SpriteBatch batch, BitmapFont font) {
-        for (int i = 0; i < activeList.size(); i++) {
-            InfoText infoText = activeList.get(i);
+        for (int i = 0; i < getActiveCount(); i++) {
+            InfoText infoText = getActive(i);
             font.setColor(infoText.getColor());
             font.draw(batch, infoText.getText(), infoText.getPosition().x, infoText.getPosition().y);
         }
@@ -73,11 +176,11 @@ public class InfoController extends ObjectPool<InfoText> {
     /**
      * Метод для вычисления измнения состояния объектов
      * Вызывает метод {@link com.star.app.game.entities.InfoText#update} для всех активных элементов
-     * После чего выполнятеся проверка, не нужно ли перевести какаие-то объекты из списка активных в список свободных {@link #checkPool()}
+     * После чего объекты, деактивированные за кадр, переводятся из списка активных в список свободных {@link #checkPool()}
      */
     public void update(float dt) {
-        for (int i = 0; i < activeList.size(); i++) {
-            activeList.get(i).update(dt);
+        for (int i = 0; i < getActiveCount(); i++) {
+            getActive(i).update(dt);
         }
         checkPool();
     }
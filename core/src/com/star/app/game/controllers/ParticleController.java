@@ -1,48 +1,113 @@
 package com.star.app.game.controllers;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.star.app.game.entities.Particle;
 import com.star.app.game.entities.PowerUp;
+import com.star.app.game.enums.EvictionPolicy;
 import com.star.app.game.enums.OwnerType;
 import com.star.app.game.enums.WeaponType;
 import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.particles.EffectTemplate;
+import com.star.app.game.particles.GpuParticleRenderer;
+import com.star.app.game.particles.ParticleBudget;
+import com.star.app.game.particles.ParticleEffects;
+import com.star.app.game.particles.ParticleRamps;
+import com.star.app.game.particles.ParticleSystem;
+import com.star.app.game.particles.ParticleTask;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.badlogic.gdx.graphics.GL20.GL_ONE_MINUS_SRC_ALPHA;
 import static com.badlogic.gdx.graphics.GL20.GL_SRC_ALPHA;
+import static com.star.app.screen.ScreenManager.SCREEN_HEIGHT;
+import static com.star.app.screen.ScreenManager.SCREEN_WIDTH;
 import static com.star.app.screen.utils.Assets.getInstance;
 
 /**
  * Класс-контроллер для создания различных эффектов с помощью частиц
+ * Количество частиц ограничено ({@link #POOL_MAX_SIZE} в пуле, {@link #SYSTEM_MAX_SIZE} в системе частиц):
+ * при заполнении новая частица занимает место самой старой частицы с наименьшим приоритетом (следы гаснут раньше взрывов)
+ * По умолчанию частицы хранятся в системе частиц на параллельных массивах {@link ParticleSystem};
+ * прежний режим, в котором каждая частица - объект {@link Particle} из пула, можно включить для сравнения
+ * {@link #setSoaParticles(boolean)}
+ * Частицы системы частиц можно рисовать на видеокарте {@link GpuParticleRenderer} {@link #setGpuParticles(boolean)}
+ * Частицы за пределами экрана не рисуются, а частицы, которые до конца жизни останутся невидимыми
+ * {@link ParticleSystem#isInvisible}, удаляются досрочно {@link #getCulledCount()} {@link #getRetiredCount()}
  */
 public class ParticleController extends ObjectPool<Particle> {
     /**
-     * Внутренный класс для создания эффектов
+     * Начальная вместимость пула частиц
+     */
+    private static final int POOL_CAPACITY = 512;
+    /**
+     * Количество частиц, создаваемых заранее при загрузке игрового экрана
+     */
+    private static final int POOL_PREWARM = 512;
+    /**
+     * Количество частиц, создаваемых за раз при нехватке свободных
+     */
+    private static final int POOL_GROW_BY = 64;
+    /**
+     * Максимальное количество частиц
+     */
+    private static final int POOL_MAX_SIZE = 2048;
+    /**
+     * Максимальное количество частиц в системе частиц на параллельных массивах
+     * (частица занимает несколько float, поэтому предел намного больше, чем у пула объектов)
+     */
+    private static final int SYSTEM_MAX_SIZE = 32768;
+    /**
+     * Приоритет следов от пуль и двигателей
+     */
+    public static final int PRIORITY_LOW = 0;
+    /**
+     * Приоритет эффектов попадания
+     */
+    public static final int PRIORITY_NORMAL = 1;
+    /**
+     * Приоритет взрывов и подбора бонусов
+     */
+    public static final int PRIORITY_HIGH = 2;
+    /**
+     * Внутренный класс для создания эффектов.
+     * Эффекты описаны в файле данных {@link ParticleEffects#DEFAULT_PATH} и собраны в шаблоны {@link EffectTemplate}
+     * при загрузке ресурсов; шаблоны для типов бонусов, оружия и владельцев находятся один раз при создании
      */
     public class EffectBuilder {
-        public void botIsDeadEffect(float x, float y) {//прикольный разноцветный взрыв
-            for (int i = 0; i < 16; i++) {
-                float angle = 6.9f / 16.0f * i;
-                setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                    1.5f, 3.0f, 1.5f,
-                    0, 1, 0, 1,
-                    0, 1, 0.3f, 0.0f);
-                angle = 10.5f / 16.0f * i;
-                setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                    1.5f, 3.0f, 2.8f,
-                    1, 1, 0, 1,
-                    1, 0.5f, 0, 0.5f);
-                angle = 1.0f * i;
-                setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                    1.5f, 3.0f, 2.8f,
-                    1, 0, 0, 1,
-                    1, 0, 1, 0.5f);
+        private final EffectTemplate botIsDead;
+        private final EffectTemplate bulletHit;
+        private final EffectTemplate[] powerUpEffects;
+        private final EffectTemplate[] bulletTraceEffects;
+        private final EffectTemplate[] fireTrailEffects;
+
+        public EffectBuilder(ParticleEffects effects) {
+            this.botIsDead = effects.get("botIsDead");
+            this.bulletHit = effects.get("bulletHit");
+            this.powerUpEffects = new EffectTemplate[PowerUp.Type.values().length];
+            for (PowerUp.Type type : PowerUp.Type.values()) {
+                powerUpEffects[type.ordinal()] = effects.get("powerUp_" + type.name().toLowerCase(Locale.ROOT));
+            }
+            this.bulletTraceEffects = new EffectTemplate[WeaponType.values().length];
+            for (WeaponType type : WeaponType.values()) {
+                bulletTraceEffects[type.ordinal()] = effects.get("bulletTrace_" + type.name().toLowerCase(Locale.ROOT));
+            }
+            this.fireTrailEffects = new EffectTemplate[OwnerType.values().length];
+            for (OwnerType type : OwnerType.values()) {
+                fireTrailEffects[type.ordinal()] = effects.get("fireTrail_" + type.name().toLowerCase(Locale.ROOT));
             }
         }
 
+        public void botIsDeadEffect(float x, float y) {//прикольный разноцветный взрыв
+            spawn(botIsDead, x, y, 0.0f, 0.0f);
+        }
+
         /**
          * Эффект взрыва при подборе бонуса
          *
@@ -51,35 +116,7 @@ public class ParticleController extends ObjectPool<Particle> {
          * @param type тип бонуса
          */
         public void takePowerUpEffect(float x, float y, PowerUp.Type type) {
-            switch (type) {
-                case MEDKIT:
-                    for (int i = 0; i < 16; i++) {
-                        float angle = 6.28f / 16.0f * i;
-                        setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                            0.8f, 3.0f, 2.8f,
-                            0, 1, 0, 1,
-                            0, 1, 0.3f, 0.5f);
-                    }
-                    break;
-                case MONEY:
-                    for (int i = 0; i < 16; i++) {
-                        float angle = 6.28f / 16.0f * i;
-                        setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                            0.8f, 3.0f, 2.8f,
-                            1, 1, 0, 1,
-                            1, 0.5f, 0, 0.5f);
-                    }
-                    break;
-                case AMOS:
-                    for (int i = 0; i < 16; i++) {
-                        float angle = 6.28f / 16.0f * i;
-                        setup(x, y, (float) Math.cos(angle) * 100, (float) Math.sin(angle) * 100,
-                            0.8f, 3.0f, 2.8f,
-                            1, 0, 0, 1,
-                            1, 0, 1, 0.5f);
-                    }
-                    break;
-            }
+            spawn(powerUpEffects[type.ordinal()], x, y, 0.0f, 0.0f);
         }
 
         /**
@@ -89,16 +126,7 @@ public class ParticleController extends ObjectPool<Particle> {
          * @param bulletVel скорость пули
          */
         public void bulletCollideWithAsteroidEffect(Vector2 bulletPos, Vector2 bulletVel) {
-            setup(
-                bulletPos.x + MathUtils.random(-4, 4),
-                bulletPos.y + MathUtils.random(-4, 4),
-                bulletVel.x * -0.3f + MathUtils.random(-30, 30),
-                bulletVel.y * -0.3f + MathUtils.random(-30, 30),
-                0.2f,
-                2.3f, 1.7f,
-                1.0f, 1.0f, 1.0f, 1.0f,
-                0.0f, 0.0f, 1.0f, 0.0f
-            );
+            spawn(bulletHit, bulletPos.x, bulletPos.y, bulletVel.x, bulletVel.y);
         }
 
         /**
@@ -109,69 +137,22 @@ public class ParticleController extends ObjectPool<Particle> {
          * @param bulletVel скорость пули
          */
         public void createBulletTraceEffect(WeaponType type, Vector2 bulletPos, Vector2 bulletVel) {
-            switch (type) {
-                case LASER:
-                    setup(
-                        bulletPos.x + MathUtils.random(-4, 4), bulletPos.y + MathUtils.random(-4, 4),
-                        bulletVel.x * -0.3f + MathUtils.random(-20, 20), bulletVel.y * -0.3f + MathUtils.random(-20, 20),
-                        0.05f,
-                        1.5f, 0.2f,
-                        1.0f, 0.3f, 0.0f, 1.0f,
-                        1.0f, 1.0f, 1.0f, 1.0f
-                    );
-                    break;
-
-                case GREEN_LASER:
-                    setup(
-                        bulletPos.x + MathUtils.random(-4, 4), bulletPos.y + MathUtils.random(-4, 4),
-                        bulletVel.x * -0.3f + MathUtils.random(-20, 20), bulletVel.y * -0.3f + MathUtils.random(-20, 20),
-                        0.05f,
-                        1.2f, 2.2f,
-                        0.2f, 1.0f, 0.2f, 1.0f,
-                        0.3f, 1.0f, 0.3f, 1.0f
-                    );
-                    break;
-
-                case SUPER_LASER:
-                    setup(
-                        bulletPos.x + MathUtils.random(-4, 4), bulletPos.y + MathUtils.random(-4, 4),
-                        bulletVel.x * -0.3f + MathUtils.random(-20, 20), bulletVel.y * -0.3f + MathUtils.random(-20, 20),
-                        0.05f,
-                        1.7f, 2.5f,
-                        0.3f, 1.0f, 0.2f, 1.0f,
-                        1.0f, 1.0f, 0.3f, 1.0f
-                    );
-                    break;
-            }
+            spawn(bulletTraceEffects[type.ordinal()], bulletPos.x, bulletPos.y, bulletVel.x, bulletVel.y);
         }
 
         public void shipFireTrailEffect(OwnerType ownerType, Vector2 position, Vector2 velocity, float angle) {
             float bx = position.x + MathUtils.cosDeg(angle + 180) * 20;
             float by = position.y + MathUtils.sinDeg(angle + 180) * 20;
+            spawn(fireTrailEffects[ownerType.ordinal()], bx, by, velocity.x, velocity.y);
+        }
 
-            switch (ownerType) {
-                case PLAYER:
-                    for (int i = 0; i < 2; i++) {
-                        setup(
-                            bx + MathUtils.random(-4, 4), by + MathUtils.random(-4, 4),
-                            velocity.x * -0.3f + MathUtils.random(-20, 20), velocity.y * -0.3f + MathUtils.random(-20, 20),
-                            0.5f,
-                            1.2f, 0.2f,
-                            1.0f, 0.3f, 0.0f, 1.0f,
-                            1.0f, 1.0f, 1.0f, 1.0f);
-                    }
-                    break;
-                case BOT:
-                    for (int i = 0; i < 2; i++) {
-                        setup(
-                            bx + MathUtils.random(-4, 4), by + MathUtils.random(-4, 4),
-                            velocity.x * -0.3f + MathUtils.random(-20, 20), velocity.y * -0.3f + MathUtils.random(-20, 20),
-                            0.5f,
-                            1.2f, 0.2f,
-                            1.0f, 0.0f, 0.0f, 1.0f,
-                            1.0f, 0.0f, 0.0f, 0.0f);
-                    }
-                    break;
+        /**
+         * Создание эффекта по шаблону (если эффект не описан в файле данных
+         * или пропускается регулятором количества частиц {@link #budget}, ничего не создается)
+         */
+        private void spawn(EffectTemplate template, float x, float y, float vx, float vy) {
+            if (template != null && budget.allow(template.getCategory())) {
+                template.spawn(ParticleController.this, x, y, vx, vy);
             }
         }
     }
@@ -193,6 +174,69 @@ public class ParticleController extends ObjectPool<Particle> {
      */
     private static final float PARTICLE_HALF_SIZE = 8;
 
+    /**
+     * Система частиц на параллельных массивах
+     */
+    private ParticleSystem particleSystem;
+    /**
+     * Признак создания новых частиц в системе частиц {@link #particleSystem} (иначе - объектов из пула)
+     */
+    private boolean soaParticles;
+    /**
+     * Отрисовщик системы частиц на видеокарте (создается при первом включении режима {@link #gpuParticles})
+     */
+    private GpuParticleRenderer gpuRenderer;
+    /**
+     * Признак отрисовки системы частиц на видеокарте
+     */
+    private boolean gpuParticles;
+    /**
+     * Признак отрисовки системы частиц за один проход со свечением (иначе - двумя проходами).
+     * По умолчанию выключен: в одном проходе нет случайного увеличения частиц аддитивного прохода (мерцания)
+     */
+    private boolean singlePassGlow;
+    /**
+     * Шейдер свечения для отрисовки системы частиц на батче
+     */
+    private ShaderProgram glowShader;
+    /**
+     * Количество частиц, начиная с которого система частиц обновляется параллельно
+     */
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+    /**
+     * Размер порции частиц для одной параллельной задачи
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 1024;
+    /**
+     * Режим параллельного обновления системы частиц {@link ParticleTask}
+     */
+    private boolean parallelParticles;
+    /**
+     * Количество частиц, при котором включается параллельное обновление (при меньшем количестве - последовательное)
+     */
+    private int parallelThreshold;
+    /**
+     * Пул потоков для параллельного обновления (создается при первом использовании)
+     */
+    private ForkJoinPool particlePool;
+    /**
+     * Регулятор количества частиц по времени кадра
+     */
+    private ParticleBudget budget;
+    /**
+     * Количество частиц-объектов, пропущенных при последней отрисовке (вне экрана)
+     */
+    private int pooledCulledCount;
+    /**
+     * Количество частиц-объектов, удаленных досрочно
+     */
+    private int pooledRetiredCount;
+    /**
+     * Начальное и конечное состояние рампы для частицы-объекта (r, g, b, a, масштаб)
+     */
+    private final float[] rampStart = new float[5];
+    private final float[] rampEnd = new float[5];
+
     /**
      * @return объект класса {@link EffectBuilder}
      */
@@ -203,11 +247,133 @@ public class ParticleController extends ObjectPool<Particle> {
     /**
      * При создании экземпляра класса:
      * 1.Получаем изображение частицы из атласа текстур.
-     * 2.Создаем объект класса {@link EffectBuilder}
+     * 2.Создаем объект класса {@link EffectBuilder} по загруженным шаблонам эффектов
+     * 3.Создаем шейдер свечения для отрисовки системы частиц за один проход
      */
     public ParticleController() {
+        super(POOL_CAPACITY, POOL_PREWARM, POOL_GROW_BY, POOL_MAX_SIZE, EvictionPolicy.LOWEST_PRIORITY_FIRST);
         this.oneParticle = getInstance().getAtlas().findRegion("star16");
-        this.effectBuilder = new EffectBuilder();
+        this.effectBuilder = new EffectBuilder(getInstance().getParticleEffects());
+        this.particleSystem = new ParticleSystem(POOL_CAPACITY, SYSTEM_MAX_SIZE, getInstance().getParticleEffects().getRamps());
+        this.particleSystem.setCullBounds(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        this.soaParticles = true;
+        this.singlePassGlow = false;
+        this.parallelParticles = true;
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.budget = new ParticleBudget();
+        this.glowShader = new ShaderProgram(Gdx.files.internal("shaders/vertex.glsl").readString(),
+            Gdx.files.internal("shaders/particle_fragment.glsl").readString());
+        if (!glowShader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling shader:" + glowShader.getLog());
+        }
+    }
+
+    /**
+     * @return система частиц на параллельных массивах
+     */
+    public ParticleSystem getParticleSystem() {
+        return particleSystem;
+    }
+
+    public boolean isSoaParticles() {
+        return soaParticles;
+    }
+
+    /**
+     * Переключение режима хранения новых частиц. Уже созданные частицы доживают в прежнем режиме
+     * Частицы-объекты из пула берут из рампы только начальное и конечное состояние, поэтому при загруженных
+     * рампах из более чем двух точек {@link ParticleRamps#getMultiStopCount()} режим пула не включается
+     *
+     * @param soaParticles true - система частиц на параллельных массивах, false - объекты из пула
+     * @throws IllegalArgumentException если включается режим пула, а среди рамп есть градиенты из нескольких точек
+     */
+    public void setSoaParticles(boolean soaParticles) {
+        if (!soaParticles && particleSystem.getRamps().getMultiStopCount() > 0) {
+            throw new IllegalArgumentException("Pooled particles cannot draw multi-stop ramps: "
+                + particleSystem.getRamps().getMultiStopCount());
+        }
+        this.soaParticles = soaParticles;
+    }
+
+    public boolean isGpuParticles() {
+        return gpuParticles;
+    }
+
+    /**
+     * Переключение отрисовки системы частиц на видеокарте.
+     * При включении все живые частицы загружаются в отрисовщик заново
+     *
+     * @param gpuParticles true - шейдер {@link GpuParticleRenderer}, false - батч
+     */
+    public void setGpuParticles(boolean gpuParticles) {
+        if (gpuParticles && !this.gpuParticles) {
+            if (gpuRenderer == null) {
+                gpuRenderer = new GpuParticleRenderer(SYSTEM_MAX_SIZE, oneParticle, PARTICLE_SIZE, particleSystem.getRamps());
+            }
+            particleSystem.markAllDirty();
+        }
+        this.gpuParticles = gpuParticles;
+    }
+
+    public boolean isSinglePassGlow() {
+        return singlePassGlow;
+    }
+
+    /**
+     * Переключение отрисовки системы частиц (на батче и на видеокарте). Частицы-объекты из пула всегда рисуются двумя проходами
+     *
+     * @param singlePassGlow true - один проход со свечением (без мерцания), false - два прохода (по умолчанию)
+     */
+    public void setSinglePassGlow(boolean singlePassGlow) {
+        this.singlePassGlow = singlePassGlow;
+    }
+
+    /**
+     * @return регулятор количества частиц по времени кадра
+     */
+    public ParticleBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return количество частиц, пропущенных при последней отрисовке, т.к. они за пределами экрана
+     * (при отрисовке на видеокарте учитываются только частицы-объекты)
+     */
+    public int getCulledCount() {
+        return pooledCulledCount + (gpuParticles ? 0 : particleSystem.getCulledCount());
+    }
+
+    /**
+     * @return количество частиц, удаленных досрочно, т.к. до конца жизни они останутся невидимыми
+     */
+    public int getRetiredCount() {
+        return pooledRetiredCount + particleSystem.getRetiredCount();
+    }
+
+    public boolean isParallelParticles() {
+        return parallelParticles;
+    }
+
+    public void setParallelParticles(boolean parallelParticles) {
+        this.parallelParticles = parallelParticles;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Частицы-объекты создаются заранее только в режиме пула (в режиме {@link #soaParticles} пул не используется)
+     */
+    @Override
+    public void prewarm() {
+        if (!soaParticles) {
+            super.prewarm();
+        }
     }
 
     /**
@@ -215,7 +381,7 @@ public class ParticleController extends ObjectPool<Particle> {
      */
     @Override
     protected Particle newObject() {
-        return new Particle();
+        return new Particle(this);
     }
 
     /**
@@ -230,13 +396,40 @@ public class ParticleController extends ObjectPool<Particle> {
      * 7.Проходим по активным частицам, вычисляем их промежуточное состояние и рисуем
      * За счет использования второго цикла прорисовки получается более яркое изображение (эффект усиления цвета)
      * После второго цикла прорисовки необходимо переключить режим на GL_ONE_MINUS_SRC_ALPHA и установить цвет батча - белый
+     * Затем так же рисуются частицы системы частиц {@link ParticleSystem#render}
+     * или, в режиме {@link #gpuParticles}, отрисовщиком на видеокарте (на это время батч останавливается).
+     * В режиме {@link #singlePassGlow} система частиц рисуется одним проходом с тем же смешиванием, но без мерцания {@link ParticleSystem#renderGlow}
      */
     public void render(SpriteBatch batch) {
+        renderPooled(batch);
+        if (gpuParticles) {
+            batch.end();
+            gpuRenderer.render(particleSystem, batch.getProjectionMatrix(), singlePassGlow);
+            batch.begin();
+        } else if (singlePassGlow) {
+            particleSystem.renderGlow(batch, oneParticle, PARTICLE_SIZE, glowShader);
+        } else {
+            particleSystem.render(batch, oneParticle, PARTICLE_SIZE);
+        }
+    }
+
+    /**
+     * Отрисовка частиц-объектов из пула
+     */
+    private void renderPooled(SpriteBatch batch) {
+        pooledCulledCount = 0;
+        if (getActiveCount() == 0) {
+            return;
+        }
         batch.setBlendFunction(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        for (int i = 0; i < activeList.size(); i++) {
-            Particle o = activeList.get(i);
+        for (int i = 0; i < getActiveCount(); i++) {
+            Particle o = getActive(i);
             float t = o.getTime() / o.getTimeMax();
             float scale = lerp(o.getSize1(), o.getSize2(), t);
+            if (isOffScreen(o, scale)) {
+                pooledCulledCount++;
+                continue;
+            }
             batch.setColor(lerp(o.getR1(), o.getR2(), t), lerp(o.getG1(), o.getG2(), t),
                 lerp(o.getB1(), o.getB2(), t), lerp(o.getA1(), o.getA2(), t));
             batch.draw(oneParticle, o.getPosition().x - PARTICLE_HALF_SIZE, o.getPosition().y - PARTICLE_HALF_SIZE,
@@ -244,10 +437,13 @@ public class ParticleController extends ObjectPool<Particle> {
         }
         batch.setColor(1.0f, 1.0f, 1.0f, 1.0f);
         batch.setBlendFunction(GL_SRC_ALPHA, GL20.GL_ONE);
-        for (int i = 0; i < activeList.size(); i++) {
-            Particle o = activeList.get(i);
+        for (int i = 0; i < getActiveCount(); i++) {
+            Particle o = getActive(i);
             float t = o.getTime() / o.getTimeMax();
             float scale = lerp(o.getSize1(), o.getSize2(), t);
+            if (isOffScreen(o, scale)) {
+                continue;
+            }
             if (MathUtils.random(0, 300) < 3) {
                 scale *= 5;
             }
@@ -260,45 +456,99 @@ public class ParticleController extends ObjectPool<Particle> {
         batch.setColor(1.0f, 1.0f, 1.0f, 1.0f);
     }
 
+    /**
+     * Проверка, что частица-объект с заданным масштабом целиком за пределами экрана
+     */
+    private boolean isOffScreen(Particle o, float scale) {
+        float extent = PARTICLE_HALF_SIZE * scale;
+        return o.getPosition().x + extent < 0 || o.getPosition().x - extent > SCREEN_WIDTH
+            || o.getPosition().y + extent < 0 || o.getPosition().y - extent > SCREEN_HEIGHT;
+    }
+
+    /**
+     * Метод для создания частицы с обычным приоритетом {@link #PRIORITY_NORMAL}
+     *
+     * @see #setup(float, float, float, float, float, int, int)
+     */
+    public void setup(float x, float y, float vx, float vy, float timeMax, int ramp) {
+        setup(x, y, vx, vy, timeMax, ramp, PRIORITY_NORMAL);
+    }
+
     /**
      * Метод для создания частицы.
-     * 1.Получаем объект из листа активных элементов.
-     * 2.Активируем его с помощью метода {@link com.star.app.game.entities.Particle#init}
+     * В режиме {@link #soaParticles} частица записывается в систему частиц {@link ParticleSystem#spawn}, иначе:
+     * 1.Получаем объект из листа активных элементов (при заполненном пуле - самую старую частицу с наименьшим приоритетом).
+     * 2.Берем из рампы начальное и конечное состояние (рампы из нескольких точек в этом режиме не загружены {@link #setSoaParticles})
+     * 3.Активируем его с помощью метода {@link com.star.app.game.entities.Particle#init}
      *
-     * @param x       координата по оси х
-     * @param y       координата по оси у
-     * @param vx      скорость по оси х
-     * @param vy      скорость по оси у
-     * @param timeMax максимальное время жизни
-     * @param size1   начальный размер
-     * @param size2   конечный размер
-     * @param r1      начальная компонента красного цвета
-     * @param g1      начальная компонента зеленого цвета
-     * @param b1      начальная компонента синего цвета
-     * @param a1      начальная прозрачность
-     * @param r2      конечная компонента красного цвета
-     * @param g2      конечная компонента зеленого цвета
-     * @param b2      конечная компонента синего цвета
-     * @param a2      конечная прозрачность
-     */
-    public void setup(float x, float y, float vx, float vy,
-        float timeMax, float size1, float size2,
-        float r1, float g1, float b1, float a1,
-        float r2, float g2, float b2, float a2) {
-        Particle item = getActiveElement();
-        item.init(x, y, vx, vy, timeMax, size1, size2, r1, g1, b1, a1, r2, g2, b2, a2);
+     * @param x        координата по оси х
+     * @param y        координата по оси у
+     * @param vx       скорость по оси х
+     * @param vy       скорость по оси у
+     * @param timeMax  максимальное время жизни
+     * @param ramp     номер рампы цвета, прозрачности и размера в {@link ParticleRamps}
+     * @param priority приоритет частицы ({@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL}, {@link #PRIORITY_HIGH})
+     */
+    public void setup(float x, float y, float vx, float vy, float timeMax, int ramp, int priority) {
+        if (soaParticles) {
+            particleSystem.spawn(x, y, vx, vy, timeMax, ramp, priority);
+            return;
+        }
+        Particle item = getActiveElement(priority);
+        ParticleRamps ramps = particleSystem.getRamps();
+        ramps.sample(ramp, 0.0f, rampStart);
+        ramps.sample(ramp, 1.0f, rampEnd);
+        item.init(x, y, vx, vy, timeMax, rampStart[4], rampEnd[4],
+            rampStart[0], rampStart[1], rampStart[2], rampStart[3],
+            rampEnd[0], rampEnd[1], rampEnd[2], rampEnd[3]);
     }
 
     /**
      * Метод для вычисления изменения состояния.
-     * 1.Проходим по списку активных элементов и вызываем у каждого из них метод update {@link com.star.app.game.entities.Particle#update}
-     * 2.Проверяем, не нужно ли перевести частицы из списка активных в список свободных с помощью метода {@link #checkPool()}
+     * 1.Учитываем время кадра в регуляторе количества частиц {@link ParticleBudget#update}
+     * 2.Проходим по списку активных элементов и вызываем у каждого из них метод update {@link com.star.app.game.entities.Particle#update},
+     * частицы, которые до конца жизни останутся невидимыми, деактивируем досрочно
+     * 3.Переводим частицы, деактивированные за кадр, из списка активных в список свободных с помощью метода {@link #checkPool()}
+     * 4.Обновляем систему частиц {@link ParticleSystem#update}. В режиме {@link #parallelParticles}
+     * при количестве частиц не меньше {@link #parallelThreshold} частицы перемещаются порциями в {@link ForkJoinPool},
+     * при меньшем количестве задачи не создаются
      */
     public void update(float dt) {
-        for (int i = 0; i < activeList.size(); i++) {
-            activeList.get(i).update(dt);
+        budget.update(dt);
+        for (int i = 0; i < getActiveCount(); i++) {
+            Particle o = getActive(i);
+            o.update(dt);
+            if (o.isActive() && ParticleSystem.isInvisible(o.getTime() / o.getTimeMax(),
+                o.getA1(), o.getA2(), o.getSize1(), o.getSize2())) {
+                pooledRetiredCount++;
+                o.deactivate();
+            }
         }
         checkPool();
+        if (parallelParticles && particleSystem.getCount() >= parallelThreshold) {
+            if (particlePool == null) {
+                particlePool = new ForkJoinPool();
+            }
+            particleSystem.update(dt, particlePool, PARALLEL_CHUNK_SIZE);
+        } else {
+            particleSystem.update(dt);
+        }
+        if (gpuRenderer != null) {
+            gpuRenderer.update(particleSystem, dt);
+        }
+    }
+
+    /**
+     * Освобождение шейдера свечения, ресурсов отрисовщика на видеокарте и остановка пула потоков
+     */
+    public void dispose() {
+        glowShader.dispose();
+        if (particlePool != null) {
+            particlePool.shutdown();
+        }
+        if (gpuRenderer != null) {
+            gpuRenderer.dispose();
+        }
     }
 
     /**
@@ -3,6 +3,7 @@ package com.star.app.game.controllers;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.star.app.game.entities.PowerUp;
+import com.star.app.game.enums.EvictionPolicy;
 import com.star.app.game.helpers.ObjectPool;
 import com.star.app.screen.utils.Assets;
 
@@ -12,6 +13,22 @@ import static com.badlogic.gdx.math.MathUtils.random;
  * Класс-контроллер для создания бонусов
  */
 public class PowerUpsController extends ObjectPool<PowerUp> {
+    /**
+     * Начальная вместимость пула бонусов
+     */
+    private static final int POOL_CAPACITY = 16;
+    /**
+     * Количество бонусов, создаваемых заранее при загрузке игрового экрана
+     */
+    private static final int POOL_PREWARM = 16;
+    /**
+     * Количество бонусов, создаваемых за раз при нехватке свободных
+     */
+    private static final int POOL_GROW_BY = 4;
+    /**
+     * Максимальное количество бонусов (при заполнении новые бонусы не выпадают)
+     */
+    private static final int POOL_MAX_SIZE = 32;
     /**
      * Массив текстур для изображения бонусов
      */
@@ -24,21 +41,29 @@ public class PowerUpsController extends ObjectPool<PowerUp> {
      * Сколько бонусов начисляется
      */
     private final int POWER = 30;
+    /**
+     * Ссылка на {@link GameController}
+     */
+    private GameController gc;
 
     /**
      * Создание Бонуса
      */
     @Override
     protected PowerUp newObject() {
-        return new PowerUp();
+        return new PowerUp(this);
     }
 
     /**
      * Инициализируем массив текстур:
      * Добавлено 4 бонуса, для каждого из которых есть 6 изображения.
      * Размер каждого изображения 60х60. Формируем массив где i- вид бонуса, j - его изображения
+     *
+     * @param gc ссылка на {@link GameController}
      */
-    public PowerUpsController() {
+    public PowerUpsController(GameController gc) {
+        super(POOL_CAPACITY, POOL_PREWARM, POOL_GROW_BY, POOL_MAX_SIZE, EvictionPolicy.REFUSE);
+        this.gc = gc;
         this.textures = new TextureRegion(Assets.getInstance().getAtlas().findRegion("powerups"))
             .split(SIZE, SIZE);
     }
@@ -52,8 +77,8 @@ public class PowerUpsController extends ObjectPool<PowerUp> {
      * 3.Рисует полученное изображение
      */
     public void render(SpriteBatch batch) {
-        for (int i = 0; i < activeList.size(); i++) {
-            PowerUp p = activeList.get(i);
+        for (int i = 0; i < getActiveCount(); i++) {
+            PowerUp p = getActive(i);
             int frameIndex = (int) (p.getTime() / 0.1f) % textures[p.getType().index].length;
             batch.draw(textures[p.getType().index][frameIndex], p.getPosition().x - SIZE / 2, p.getPosition().y - SIZE / 2);
         }
@@ -61,7 +86,7 @@ public class PowerUpsController extends ObjectPool<PowerUp> {
 
     /**
      * Метод создания бонуса (с какой-то вероятностью).
-     * Если произвольное число меньше заданной вероятности, то создается бонус в указанных координатах
+     * Если произвольное число меньше заданной вероятности, то создается бонус в указанных координатах {@link #create}
      *
      * @param x           координата по оси х
      * @param y           координата по оси у
@@ -69,29 +94,36 @@ public class PowerUpsController extends ObjectPool<PowerUp> {
      */
     public void setup(float x, float y, float probability) {
         if (random() <= probability) {
-            getActiveElement().activate(PowerUp.Type.values()[random(0, 2)], x, y, POWER);
+            create(x, y);
         }
     }
 
     /**
      * Метод для создания бонуса
+     * Бонус регистрируется в сервисе пространственных запросов {@link GameController#getWorldQuery()}
+     * Если пул бонусов заполнен {@link #POOL_MAX_SIZE}, бонус не создается
      *
      * @param x координата по оси х
      * @param y координата по оси у
      */
     public void create(float x, float y) {
-        getActiveElement().activate(PowerUp.Type.values()[random(0, 2)], x, y, POWER);
+        PowerUp p = getActiveElement();
+        if (p == null) {
+            return;
+        }
+        p.activate(PowerUp.Type.values()[random(0, 2)], x, y, POWER);
+        gc.getWorldQuery().add(p);
     }
 
     /**
      * Метод для вычисления изменения состояния объектов.
      * 1.Проходит по всем активным бонусам
      * 2.Вычисляет изменение их состояния
-     * 3.Проверяет, не нужно ли перевести элемент из активного списка в свободный {@link ObjectPool#checkPool()}
+     * 3.Переводит бонусы, деактивированные за кадр, из активного списка в свободный {@link ObjectPool#checkPool()}
      */
     public void update(float dt) {
-        for (int i = 0; i < activeList.size(); i++) {
-            activeList.get(i).update(dt);
+        for (int i = 0; i < getActiveCount(); i++) {
+            getActive(i).update(dt);
         }
         checkPool();
     }
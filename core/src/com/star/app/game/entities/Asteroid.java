@@ -5,9 +5,13 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Vector2;
+import com.star.app.game.collisions.CollisionLayers;
+import com.star.app.game.collisions.HitShape;
 import com.star.app.game.controllers.GameController;
-import com.star.app.game.helpers.Poolable;
-import com.star.app.game.interfacies.Pushable;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.helpers.PooledObject;
+import com.star.app.game.interfacies.Collidable;
+import com.star.app.game.interfacies.Shaped;
 import com.star.app.screen.MenuScreen;
 import com.star.app.screen.utils.Assets;
 
@@ -18,7 +22,7 @@ import static com.star.app.screen.ScreenManager.SCREEN_WIDTH;
 /**
  * Класс, описывающий Астероид
  */
-public class Asteroid implements Poolable, Pushable {
+public class Asteroid extends PooledObject implements Shaped, Collidable {
     /**
      * Скорость, в пределах которой будет произвольно определяться скорость астероида random(-RANDOM_ASTEROID_SPEED,RANDOM_ASTEROID_SPEED)
      */
@@ -67,6 +71,10 @@ public class Asteroid implements Poolable, Pushable {
      * область поражения астероида
      */
     private Circle hitArea;
+    /**
+     * Составная зона поражения (зона поражения {@link #hitArea} - ее описанный круг)
+     */
+    private HitShape hitShape;
     /**
      * звук уничтожения астероида
      */
@@ -108,6 +116,22 @@ public class Asteroid implements Poolable, Pushable {
         return hitArea;
     }
 
+    /**
+     * @return составная зона поражения астероида
+     */
+    @Override
+    public HitShape getHitShape() {
+        return hitShape;
+    }
+
+    /**
+     * @return угол поворота изображения
+     */
+    @Override
+    public float getAngle() {
+        return angle;
+    }
+
     /**
      * @return позиция
      */
@@ -115,6 +139,23 @@ public class Asteroid implements Poolable, Pushable {
         return position;
     }
 
+    /**
+     * @return слой столкновений астероида
+     */
+    @Override
+    public int getCategory() {
+        return CollisionLayers.ASTEROID;
+    }
+
+    /**
+     * @return слои, с которыми сталкивается астероид
+     */
+    @Override
+    public int getMask() {
+        return CollisionLayers.HERO | CollisionLayers.BOT | CollisionLayers.ASTEROID
+            | CollisionLayers.HERO_BULLET | CollisionLayers.BOT_BULLET;
+    }
+
     /**
      * @return активен или не активен астероид
      */
@@ -131,11 +172,13 @@ public class Asteroid implements Poolable, Pushable {
      * 4.Загружается изображение астероида.
      * 5.Загружается звук уничтожения астероида.
      */
-    public Asteroid(GameController gc) {
+    public Asteroid(GameController gc, ObjectPool<Asteroid> pool) {
+        super(pool);
         this.gc = gc;
         this.position = new Vector2(0, 0);
         this.velocity = new Vector2(0, 0);
         this.hitArea = new Circle(0, 0, 0);
+        this.hitShape = gc.getHitShapes().get("asteroid");
         this.active = false;
         this.texture = Assets.getInstance().getAtlas().findRegion("asteroid");
         this.sizeX = texture.getRegionWidth();
@@ -156,6 +199,7 @@ public class Asteroid implements Poolable, Pushable {
      */
     public void deactivate() {
         active = false;
+        release();
         if (MenuScreen.isSoundPlay) {
             explosionSound.play();
         }
@@ -6,7 +6,11 @@ import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.star.app.game.collisions.CategoryFilter;
+import com.star.app.game.collisions.CollisionLayers;
+import com.star.app.game.collisions.QueryFilter;
 import com.star.app.game.controllers.GameController;
+import com.star.app.game.helpers.Poolable;
 
 import static com.star.app.game.enums.OwnerType.BOT;
 import static com.star.app.game.enums.WeaponType.GREEN_LASER;
@@ -16,8 +20,9 @@ import static com.star.app.screen.utils.Assets.getInstance;
 
 /**
  * Класс, описывающий вражеский корабль
+ * Реализует {@link Poolable} (бот активен, пока жив)
  */
-public class Bot extends Ship {
+public class Bot extends Ship implements Poolable {
     /**
      * вектор для промежуточных вычислений
      */
@@ -26,6 +31,10 @@ public class Bot extends Ship {
      * Для работы с текстом
      */
     private StringBuilder strBuilder;
+    /**
+     * Фильтр для поиска цели (героя) через {@link GameController#getWorldQuery()}
+     */
+    private QueryFilter targetFilter;
 
     /**
      * Создаем бота с заданным уровнем жизни в указанных координатах х и у
@@ -47,12 +56,14 @@ public class Bot extends Ship {
         this.enginePower = 200.0f;
         this.ownerType = BOT;
         this.tempVector = new Vector2();
+        this.targetFilter = new CategoryFilter(CollisionLayers.HERO);
         this.weaponType = GREEN_LASER;
         createWeapons();
         this.weaponNum = 0;
         this.currentWeapon = weapons[weaponNum];
         this.strBuilder = new StringBuilder();
         this.hitArea = new Circle(position, 0.9f*(sizeX + sizeY) / 4.0f);
+        this.hitShape = gc.getHitShapes().get("bot");
     }
 
     /**
@@ -66,22 +77,35 @@ public class Bot extends Ship {
         font.draw(batch, strBuilder, 1120, 700);
     }
 
+    /**
+     * Бот активен, пока жив
+     */
+    @Override
+    public boolean isActive() {
+        return isAlive();
+    }
+
     /**
      * Метод для вычисления изменения состояния
-     * Бот поворачивается и движется в сторону героя
+     * Цель (ближайший герой) ищется через {@link GameController#getWorldQuery()}
+     * Бот поворачивается и движется в сторону цели
      * Если между ботом и героем расстояние меньше 200, то бот ускоряется
      * Если между ботом и героем расстояние меньше 300, то бот начинает стрелять
      * Если скорость бота больше 50, то добавляется эффект {@link  com.star.app.game.controllers.ParticleController.EffectBuilder#shipFireTrailEffect}
      */
     public void update(float dt) {
         super.update(dt);
-        tempVector.set(gc.getHero().getPosition()).sub(position).nor();
-        angle = tempVector.angleDeg();
-        if (gc.getHero().getPosition().dst(position) > 200) {
-            accelerate(dt);
-        }
-        if (gc.getHero().getPosition().dst(position) < 300) {
-            tryToFire();
+        Ship target = gc.getWorldQuery().nearest(position.x, position.y, targetFilter);
+        if (target != null) {
+            float distance = target.getPosition().dst(position);
+            tempVector.set(target.getPosition()).sub(position).nor();
+            angle = tempVector.angleDeg();
+            if (distance > 200) {
+                accelerate(dt);
+            }
+            if (distance < 300) {
+                tryToFire();
+            }
         }
         if (velocity.len() > 50.0f) {
             gc.getParticleController().getEffectBuilder().shipFireTrailEffect(ownerType, position, velocity, angle);
@@ -6,6 +6,9 @@ import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.star.app.game.collisions.CategoryFilter;
+import com.star.app.game.collisions.CollisionLayers;
+import com.star.app.game.collisions.QueryFilter;
 import com.star.app.game.controllers.GameController;
 import com.star.app.game.interfacies.Pushable;
 import com.star.app.screen.ScreenManager;
@@ -26,6 +29,10 @@ public class BotBoss extends Ship implements Pushable {
      * Для работы с текстом
      */
     private StringBuilder strBuilder;
+    /**
+     * Фильтр для поиска цели (героя) через {@link GameController#getWorldQuery()}
+     */
+    private QueryFilter targetFilter;
     /**
      * Веятность выпадения бонуса
      */
@@ -38,6 +45,22 @@ public class BotBoss extends Ship implements Pushable {
         return probably;
     }
 
+    /**
+     * @return слой главного противника (отдельный от обычных ботов, т.к. попадание в него создает бонусы)
+     */
+    @Override
+    public int getCategory() {
+        return CollisionLayers.BOSS;
+    }
+
+    /**
+     * @return слои, с которыми сталкивается главный противник
+     */
+    @Override
+    public int getMask() {
+        return CollisionLayers.HERO | CollisionLayers.HERO_BULLET;
+    }
+
     /**
      * Создание объекта
      * Создается с указанным количеством жизни в заданных координатах
@@ -55,12 +78,14 @@ public class BotBoss extends Ship implements Pushable {
             MathUtils.random(ScreenManager.SCREEN_WIDTH - 200, ScreenManager.SCREEN_WIDTH - 100),
             MathUtils.random(100, ScreenManager.SCREEN_HEIGHT - 100));
         this.hitArea = new Circle(position, 115);
+        this.hitShape = gc.getHitShapes().get("boss");
         this.texture = Assets.getInstance().getAtlas().findRegion("sokol");
         this.sizeX = texture.getRegionWidth();
         this.sizeY = texture.getRegionHeight();
         this.enginePower = 100.0f;
         this.ownerType = BOT;
         this.tempVector = new Vector2();
+        this.targetFilter = new CategoryFilter(CollisionLayers.HERO);
         this.probably = 7;
         this.weaponType = SUPER_LASER;
         createWeapons();
@@ -71,19 +96,24 @@ public class BotBoss extends Ship implements Pushable {
 
     /**
      * Метод для вычисления изменения состояния
-     * Бот поворачивается и движется в сторону героя
+     * Цель (ближайший герой) ищется через {@link GameController#getWorldQuery()}
+     * Бот поворачивается и движется в сторону цели
      * Если между ботом и героем расстояние меньше 200, то бот ускоряется
      * Если между ботом и героем расстояние меньше 300, то бот начинает стрелять
      */
     public void update(float dt) {
         super.update(dt);
-        tempVector.set(gc.getHero().getPosition()).sub(position).nor();
-        angle = tempVector.angleDeg();
-        if (gc.getHero().getPosition().dst(position) > 200) {
-            accelerate(dt);
-        }
-        if (gc.getHero().getPosition().dst(position) < 300) {
-            tryToFire();
+        Ship target = gc.getWorldQuery().nearest(position.x, position.y, targetFilter);
+        if (target != null) {
+            float distance = target.getPosition().dst(position);
+            tempVector.set(target.getPosition()).sub(position).nor();
+            angle = tempVector.angleDeg();
+            if (distance > 200) {
+                accelerate(dt);
+            }
+            if (distance < 300) {
+                tryToFire();
+            }
         }
     }
 
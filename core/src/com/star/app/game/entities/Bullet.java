@@ -2,16 +2,20 @@ package com.star.app.game.entities;
 
 import com.badlogic.gdx.math.Vector2;
 import com.star.app.game.controllers.GameController;
-import com.star.app.game.helpers.Poolable;
+import com.star.app.game.enums.OwnerType;
+import com.star.app.game.enums.WeaponType;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.helpers.PooledObject;
+import com.star.app.game.interfacies.Collidable;
 
 import static com.star.app.screen.ScreenManager.SCREEN_HEIGHT;
 import static com.star.app.screen.ScreenManager.SCREEN_WIDTH;
 
 /**
  * Класс описывающий пулю.
- * реализует интерфейс {@link Poolable}
+ * наследует {@link PooledObject} и при деактивации сама ставит себя в очередь пула на освобождение
  */
-public class Bullet implements Poolable {
+public class Bullet extends PooledObject implements Collidable {
     /**
      * Позволяет определить, что пуля вышла за границы экрана
      */
@@ -24,6 +28,10 @@ public class Bullet implements Poolable {
      * Позиция пули
      */
     private Vector2 position;
+    /**
+     * Позиция пули на прошлом кадре (начало отрезка, пройденного за кадр)
+     */
+    private Vector2 prevPosition;
     /**
      * Скорость пули
      */
@@ -33,18 +41,30 @@ public class Bullet implements Poolable {
      */
     private boolean active;
     /**
-     * Владелец пули (кому принадлежит пуля: герою или вражескому кораблю)
-     * Влияет на эффект следа от пули
+     * Тип владельца пули (герой или вражеский корабль), определяет слои столкновений пули
+     */
+    private OwnerType ownerType;
+    /**
+     * Тип оружия владельца, влияет на эффект следа от пули
      */
-    private Ship owner;
+    private WeaponType weaponType;
+    /**
+     * Урон оружия владельца в момент выстрела
+     */
+    private int damage;
 
     /**
-     * Возвращает владельца пули
-     *
-     * @return корабль, который вупистил пулю
+     * @return тип владельца пули
      */
-    public Ship getOwner() {
-        return owner;
+    public OwnerType getOwnerType() {
+        return ownerType;
+    }
+
+    /**
+     * @return урон пули
+     */
+    public int getDamage() {
+        return damage;
     }
 
     /**
@@ -65,6 +85,31 @@ public class Bullet implements Poolable {
         return position;
     }
 
+    /**
+     * Позиция на прошлом кадре
+     *
+     * @return позиция (x,y), с которой пуля начала движение на текущем кадре
+     */
+    public Vector2 getPrevPosition() {
+        return prevPosition;
+    }
+
+    /**
+     * @return слой столкновений пули (определяется типом владельца)
+     */
+    @Override
+    public int getCategory() {
+        return ownerType.getBulletCategory();
+    }
+
+    /**
+     * @return слои, в которые может попасть пуля
+     */
+    @Override
+    public int getMask() {
+        return ownerType.getBulletMask();
+    }
+
     /**
      * признак активности элемента
      *
@@ -81,9 +126,11 @@ public class Bullet implements Poolable {
      * 2.Скорость (0;0).
      * 3.Признак активный - нет
      */
-    public Bullet(GameController gc) {
+    public Bullet(GameController gc, ObjectPool<Bullet> pool) {
+        super(pool);
         this.gc = gc;
         this.position = new Vector2(0, 0);
+        this.prevPosition = new Vector2(0, 0);
         this.velocity = new Vector2(0, 0);
         this.active = false;
     }
@@ -94,32 +141,37 @@ public class Bullet implements Poolable {
      */
     public void deactivate() {
         active = false;
+        release();
     }
 
     /**
      * Метод для активации пули:
-     * 1.Пуля устанавливается в заданную позицию (x;y).
+     * 1.Пуля устанавливается в заданную позицию (x;y), отрезок движения вырождается в точку.
      * 2.Скорость (vx;vy).
      * 3.Признак активный - да
-     * 4.Устанавливается владелец пули
+     * 4.Запоминаются тип владельца, тип и урон его оружия
      */
     public void activate(Ship owner, float x, float y, float vx, float vy) {
         position.set(x, y);
+        prevPosition.set(x, y);
         velocity.set(vx, vy);
         active = true;
-        this.owner = owner;
+        this.ownerType = owner.getOwnerType();
+        this.weaponType = owner.getWeaponType();
+        this.damage = owner.getCurrentWeapon().getDamage();
     }
 
     /**
      * Метод для вычисления изменения состояния пули:
-     * 1.Координаты меняются в зависимости от скорости и времени
+     * 1.Запоминается текущая позиция, координаты меняются в зависимости от скорости и времени
      * 2.Устанавливается эффект {@link  com.star.app.game.controllers.ParticleController.EffectBuilder#createBulletTraceEffect}
      * 3.Выполняется проверка, что пуля не вылетела за границы игрового экрана {@link #checkSpaceBorder()}
      */
     public void update(float dt) {
+        prevPosition.set(position);
         position.mulAdd(velocity, dt);
         gc.getParticleController().getEffectBuilder()
-            .createBulletTraceEffect(owner.getWeaponType(), position, velocity);
+            .createBulletTraceEffect(weaponType, position, velocity);
         checkSpaceBorder();
     }
 
@@ -206,6 +206,7 @@ public class Hero extends Ship {
         this.critical = 5;
         this.ownerType = PLAYER;
         this.hitArea = new Circle(position, 0.9f * (sizeX + sizeY) / 4.0f);
+        this.hitShape = gc.getHitShapes().get("hero");
         this.searchArea = new Circle(position, 100);
     }
 
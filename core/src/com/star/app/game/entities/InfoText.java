@@ -2,14 +2,15 @@ package com.star.app.game.entities;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
-import com.star.app.game.helpers.Poolable;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.helpers.PooledObject;
 
 import static com.badlogic.gdx.graphics.Color.GREEN;
 
 /**
  * Класс для описания текста, появляющегося при подборе бонусов, нанесении урона и крит. ударе
  */
-public class InfoText implements Poolable {
+public class InfoText extends PooledObject {
     /**
      * Цвет текста
      */
@@ -84,7 +85,8 @@ public class InfoText implements Poolable {
      * 4.Задаем максимальное время жизни и текущее время жизни (0)
      * 5.Устанавливаем цвет текста
      */
-    public InfoText() {
+    public InfoText(ObjectPool<InfoText> pool) {
+        super(pool);
         this.text = new StringBuilder();
         this.active = false;
         this.position = new Vector2(0.0f, 0.0f);
@@ -154,5 +156,6 @@ public class InfoText implements Poolable {
 
     public void deactivate() {
         active = false;
+        release();
     }
 }
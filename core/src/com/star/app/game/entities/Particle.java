@@ -1,12 +1,13 @@
 package com.star.app.game.entities;
 
 import com.badlogic.gdx.math.Vector2;
-import com.star.app.game.helpers.Poolable;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.helpers.PooledObject;
 
 /**
  * Частицы, с помощью которых будут реализовываться эффекты
  */
-public class Particle implements Poolable {
+public class Particle extends PooledObject {
     /**
      * Позиция частицы (х;у)
      */
@@ -152,7 +153,8 @@ public class Particle implements Poolable {
      * 2.Скорость (0;0)
      * 3.Начальный и конечный размер 1
      */
-    public Particle() {
+    public Particle(ObjectPool<Particle> pool) {
+        super(pool);
         position = new Vector2(0, 0);
         velocity = new Vector2(0, 0);
         size1 = 1.0f;
@@ -205,10 +207,11 @@ public class Particle implements Poolable {
     }
 
     /**
-     * При деактивации частицы она становится невидимой (cative = false)
+     * При деактивации частицы она становится невидимой (cative = false) и ставится в очередь пула на освобождение
      */
     public void deactivate() {
         active = false;
+        release();
     }
 
     /**
@@ -2,12 +2,16 @@ package com.star.app.game.entities;
 
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.star.app.game.helpers.Poolable;
+import com.star.app.game.collisions.CollisionLayers;
+import com.star.app.game.helpers.ObjectPool;
+import com.star.app.game.helpers.PooledObject;
+import com.star.app.game.interfacies.Collidable;
+import com.star.app.game.interfacies.Locatable;
 
 /**
  * Класс для описания бонусов
  */
-public class PowerUp implements Poolable {
+public class PowerUp extends PooledObject implements Collidable, Locatable {
     /**
      * Перечисление типов бонусов:
      * 1.Аптечка
@@ -65,10 +69,21 @@ public class PowerUp implements Poolable {
         return power;
     }
 
+    @Override
     public Vector2 getPosition() {
         return position;
     }
 
+    @Override
+    public int getCategory() {
+        return CollisionLayers.POWER_UP;
+    }
+
+    @Override
+    public int getMask() {
+        return CollisionLayers.HERO;
+    }
+
     @Override
     public boolean isActive() {
         return active;
@@ -80,6 +95,7 @@ public class PowerUp implements Poolable {
 
     public void deactivate() {
         active = false;
+        release();
     }
 
     /**
@@ -87,7 +103,8 @@ public class PowerUp implements Poolable {
      * Создается в заданных координатах с заданной скоростью
      * признак активный - нет
      */
-    public PowerUp() {
+    public PowerUp(ObjectPool<PowerUp> pool) {
+        super(pool);
         this.position = new Vector2(0, 0);
         this.velocity = new Vector2(0, 0);
         this.active = false;
@@ -4,10 +4,12 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Vector2;
+import com.star.app.game.collisions.HitShape;
 import com.star.app.game.controllers.GameController;
 import com.star.app.game.enums.OwnerType;
 import com.star.app.game.enums.WeaponType;
-import com.star.app.game.interfacies.Pushable;
+import com.star.app.game.interfacies.Collidable;
+import com.star.app.game.interfacies.Shaped;
 
 import static com.badlogic.gdx.math.MathUtils.cosDeg;
 import static com.badlogic.gdx.math.MathUtils.sinDeg;
@@ -17,7 +19,7 @@ import static com.star.app.screen.ScreenManager.SCREEN_WIDTH;
 /**
  * Класс для описания корабля
  */
-public abstract class Ship implements Pushable {
+public abstract class Ship implements Shaped, Collidable {
     /**
      * Ссылка на {@link GameController}
      */
@@ -62,6 +64,10 @@ public abstract class Ship implements Pushable {
      * зона поражения
      */
     protected Circle hitArea;
+    /**
+     * Составная зона поражения (зона поражения {@link #hitArea} - ее описанный круг)
+     */
+    protected HitShape hitShape;
     /**
      * Доступное оружие
      */
@@ -130,6 +136,22 @@ public abstract class Ship implements Pushable {
         return ownerType;
     }
 
+    /**
+     * @return слой столкновений корабля (определяется типом корабля)
+     */
+    @Override
+    public int getCategory() {
+        return ownerType.getShipCategory();
+    }
+
+    /**
+     * @return слои, с которыми сталкивается корабль
+     */
+    @Override
+    public int getMask() {
+        return ownerType.getShipMask();
+    }
+
     /**
      * @return область поражения корабля
      */
@@ -137,6 +159,14 @@ public abstract class Ship implements Pushable {
         return hitArea;
     }
 
+    /**
+     * @return составная зона поражения корабля
+     */
+    @Override
+    public HitShape getHitShape() {
+        return hitShape;
+    }
+
     /**
      * @return текущее оружие
      */
@@ -193,6 +223,7 @@ public abstract class Ship implements Pushable {
         this.position = new Vector2(x, y);
         this.velocity = new Vector2(0, 0);
         this.angle = 0.0f;
+        this.hitShape = HitShape.CIRCLE;
     }
 
     /**
@@ -0,0 +1,37 @@
+package com.star.app.game.enums;
+
+/**
+ * Категория эффекта частиц. Для каждой категории {@link com.star.app.game.particles.ParticleBudget}
+ * уменьшает частоту создания эффектов при падении частоты кадров, но не ниже нижней границы категории
+ */
+public enum EffectCategory {
+    /**
+     * Следы от пуль
+     */
+    BULLET_TRACE(0.25f),
+    /**
+     * Следы от двигателей кораблей
+     */
+    ENGINE_TRAIL(0.25f),
+    /**
+     * Попадания пуль
+     */
+    HIT(0.5f),
+    /**
+     * Взрывы и подбор бонусов (не уменьшаются)
+     */
+    EXPLOSION(1.0f);
+
+    /**
+     * Нижняя граница доли создаваемых эффектов
+     */
+    private final float floor;
+
+    EffectCategory(float floor) {
+        this.floor = floor;
+    }
+
+    public float getFloor() {
+        return floor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.star.app.game.enums;
+
+/**
+ * Политика пула объектов {@link com.star.app.game.helpers.ObjectPool} при достижении максимального размера
+ */
+public enum EvictionPolicy {
+    /**
+     * Новый объект не выдается (для пулов, от которых зависит игровая логика)
+     */
+    REFUSE,
+    /**
+     * Повторно используется объект, активированный раньше всех
+     */
+    OLDEST_FIRST,
+    /**
+     * Повторно используется объект с наименьшим приоритетом, среди равных - активированный раньше всех
+     */
+    LOWEST_PRIORITY_FIRST
+}
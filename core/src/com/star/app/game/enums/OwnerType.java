@@ -1,8 +1,59 @@
 package com.star.app.game.enums;
 
+import com.star.app.game.collisions.CollisionLayers;
+
 /**
- * Класс, показывающий тип корабля (будет определять владельца пуль)
+ * Класс, показывающий тип корабля (будет определять владельца пуль).
+ * От типа зависят слои столкновений корабля и его пуль {@link com.star.app.game.collisions.CollisionLayers}
  */
 public enum OwnerType {
-    PLAYER, BOT;
+    PLAYER(CollisionLayers.HERO,
+        CollisionLayers.BOT | CollisionLayers.BOSS | CollisionLayers.ASTEROID | CollisionLayers.BOT_BULLET
+            | CollisionLayers.POWER_UP,
+        CollisionLayers.HERO_BULLET,
+        CollisionLayers.BOT | CollisionLayers.BOSS | CollisionLayers.ASTEROID),
+    BOT(CollisionLayers.BOT,
+        CollisionLayers.HERO | CollisionLayers.ASTEROID | CollisionLayers.HERO_BULLET,
+        CollisionLayers.BOT_BULLET,
+        CollisionLayers.HERO | CollisionLayers.ASTEROID);
+
+    /**
+     * Слой корабля
+     */
+    private final int shipCategory;
+    /**
+     * Слои, с которыми сталкивается корабль
+     */
+    private final int shipMask;
+    /**
+     * Слой пуль корабля
+     */
+    private final int bulletCategory;
+    /**
+     * Слои, в которые попадают пули корабля
+     */
+    private final int bulletMask;
+
+    OwnerType(int shipCategory, int shipMask, int bulletCategory, int bulletMask) {
+        this.shipCategory = shipCategory;
+        this.shipMask = shipMask;
+        this.bulletCategory = bulletCategory;
+        this.bulletMask = bulletMask;
+    }
+
+    public int getShipCategory() {
+        return shipCategory;
+    }
+
+    public int getShipMask() {
+        return shipMask;
+    }
+
+    public int getBulletCategory() {
+        return bulletCategory;
+    }
+
+    public int getBulletMask() {
+        return bulletMask;
+    }
 }
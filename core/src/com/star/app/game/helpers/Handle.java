@@ -0,0 +1,43 @@
+package com.star.app.game.helpers;
+
+/**
+ * Дескриптор объекта пула {@link ObjectPool}: номер ячейки пула и поколение, упакованные в одно число long.
+ * Ячейка закрепляется за объектом при его создании и не меняется, а поколение увеличивается каждый раз,
+ * когда объект возвращается в пул или выдается повторно. Поэтому дескриптор, сохраненный до освобождения объекта,
+ * перестает совпадать с ячейкой, и {@link ObjectPool#resolve(long)} вместо переиспользованного объекта вернет null.
+ * Дескриптор - примитивное значение, его можно хранить и сравнивать без создания объектов
+ */
+public final class Handle {
+    /**
+     * Пустой дескриптор (поколения начинаются с единицы, поэтому он никогда не указывает на объект)
+     */
+    public static final long NONE = 0L;
+
+    private Handle() {
+    }
+
+    /**
+     * Упаковка дескриптора
+     *
+     * @param index      номер ячейки пула
+     * @param generation поколение ячейки
+     * @return дескриптор
+     */
+    public static long of(int index, int generation) {
+        return ((long) generation << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return номер ячейки пула
+     */
+    public static int index(long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * @return поколение ячейки
+     */
+    public static int generation(long handle) {
+        return (int) (handle >>> 32);
+    }
+}
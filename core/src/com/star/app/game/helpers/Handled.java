@@ -0,0 +1,18 @@
+package com.star.app.game.helpers;
+
+/**
+ * Интерфейс для объектов, которые хранят свой дескриптор {@link Handle}.
+ * Пул {@link ObjectPool} записывает дескриптор при выдаче объекта и сбрасывает его при освобождении,
+ * поэтому объект может сообщить ссылку на себя, которую безопасно хранить дольше кадра
+ */
+public interface Handled {
+    /**
+     * @return дескриптор объекта или {@link Handle#NONE}, если объект не выдан пулом
+     */
+    long getHandle();
+
+    /**
+     * Установка дескриптора (вызывается пулом)
+     */
+    void setHandle(long handle);
+}
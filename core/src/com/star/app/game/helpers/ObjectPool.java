@@ -1,28 +1,295 @@
 package com.star.app.game.helpers;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.star.app.game.enums.EvictionPolicy;
+
+import java.util.Arrays;
 
 /**
  * Абстрактный класс, описывающий реализацию шаблона проектирования Object Pool
+ * Активные и свободные элементы хранятся в обычных массивах.
+ * Освобождение элемента выполняется за O(1): на его место переносится последний активный элемент,
+ * поэтому порядок активных элементов после {@link #checkPool()} может меняться.
+ * Обход активных элементов выполняется по индексу {@link #getActiveCount()}, {@link #getActive(int)} без создания итераторов
+ * Для каждого пула задаются начальная вместимость массивов, количество заранее создаваемых объектов {@link #prewarm()}
+ * и количество объектов, создаваемых за раз при нехватке свободных (рост порциями вместо создания по одному)
+ * Элемент сам сообщает пулу о своей деактивации {@link #release(long)} (см. {@link PooledObject}),
+ * и ячейка ставится в очередь. В конце кадра {@link #checkPool()} освобождает только элементы из очереди,
+ * без обхода всех активных элементов. До этого момента порядок активных элементов не меняется,
+ * поэтому обход, идущий в этом кадре, не нарушается
+ * Пул ведет статистику: наибольшее количество активных элементов, общее количество созданных объектов
+ * и количество кадров, в которых пулу пришлось расти. Кадром считается промежуток между вызовами {@link #checkPool()}.
+ * Постоянно растущий максимум активных элементов говорит об утечке (элементы, которые не перестают быть активными)
+ * Пулу можно задать максимальный размер и политику {@link EvictionPolicy}: при заполнении пул либо отказывает
+ * (возвращает null, вызывающий код должен это учитывать), либо повторно выдает уже активный объект -
+ * самый старый или с наименьшим приоритетом, который передается при получении объекта {@link #getActiveElement(int)}
+ * Для такого пула ячейки активных объектов каждого приоритета связаны в очередь в порядке выдачи,
+ * поэтому объект для повторной выдачи находится без обхода активных элементов
+ * Каждый созданный объект закрепляется за ячейкой пула. Пул выдает дескрипторы {@link Handle} (ячейка и поколение),
+ * по которым объект находится за O(1) {@link #resolve(long)}, а устаревший дескриптор (объект уже освобожден
+ * или выдан повторно) распознается. Объектам, реализующим {@link Handled}, дескриптор записывается при выдаче
+ * После пиковых нагрузок лишние свободные объекты можно отпустить {@link #trim()}: в пуле остается
+ * не больше {@link #trimWatermark} свободных объектов, ячейки отпущенных объектов используются повторно
  *
  * @param <T> тип объекта, реализуещего интерфейс {@link Poolable}
  */
 public abstract class ObjectPool<T extends Poolable> {
     /**
-     * Лист активных элементов заданного типа T, который имплементирует интерфейс {@link Poolable}
+     * Начальная вместимость массивов по умолчанию
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Признак пула без ограничения размера
+     */
+    public static final int UNBOUNDED = 0;
+    /**
+     * Максимальное количество активных элементов ({@link #UNBOUNDED} - без ограничения)
+     */
+    private final int maxSize;
+    /**
+     * Политика при достижении максимального размера
+     */
+    private final EvictionPolicy evictionPolicy;
+    /**
+     * Признак пула, который при заполнении повторно выдает активные объекты (для него ведутся очереди приоритетов)
+     */
+    private final boolean evicting;
+    /**
+     * Количество объектов, которые создаются заранее {@link #prewarm()}
+     */
+    private final int prewarmCount;
+    /**
+     * Количество объектов, которые создаются за раз, если свободных объектов не осталось
+     */
+    private final int growBy;
+    /**
+     * Массив активных элементов заданного типа T, который имплементирует интерфейс {@link Poolable}
+     */
+    private Object[] active;
+    /**
+     * Количество активных элементов
+     */
+    private int activeCount;
+    /**
+     * Предыдущая ячейка в очереди того же приоритета в порядке выдачи (-1 - первая)
+     */
+    private int[] slotPrev;
+    /**
+     * Следующая ячейка в очереди того же приоритета в порядке выдачи (-1 - последняя)
+     */
+    private int[] slotNext;
+    /**
+     * Приоритет (номер очереди) активного объекта ячейки
+     */
+    private int[] slotLevel;
+    /**
+     * Первые (выданные раньше всех) ячейки очереди каждого приоритета (-1 - очередь пуста)
+     */
+    private int[] queueHead;
+    /**
+     * Последние ячейки очереди каждого приоритета
+     */
+    private int[] queueTail;
+    /**
+     * Массив свободных (неактивных) элементов заданного типа T, который имплементирует интерфейс {@link Poolable}
+     */
+    private Object[] free;
+    /**
+     * Количество свободных элементов
+     */
+    private int freeCount;
+    /**
+     * Ячейки активных элементов (в том же порядке, что и элементы)
+     */
+    private int[] activeSlot;
+    /**
+     * Ячейки свободных элементов (в том же порядке, что и элементы)
+     */
+    private int[] freeSlot;
+    /**
+     * Объекты по номеру ячейки
+     */
+    private Object[] slots;
+    /**
+     * Текущее поколение каждой ячейки
+     */
+    private int[] generations;
+    /**
+     * Количество ячеек (созданных объектов)
+     */
+    private int slotCount;
+    /**
+     * Индекс активного элемента по номеру ячейки (для освобождения по ячейке за O(1))
+     */
+    private int[] slotIndex;
+    /**
+     * Признак того, что ячейка стоит в очереди на освобождение
+     */
+    private boolean[] releasePending;
+    /**
+     * Очередь ячеек на освобождение в конце кадра
+     */
+    private int[] releaseQueue;
+    /**
+     * Количество ячеек в очереди на освобождение
+     */
+    private int releaseCount;
+    /**
+     * Позиция в очереди на освобождение, до которой все ячейки уже освобождены или выданы повторно
+     */
+    private int releaseScan;
+    /**
+     * Ячейки отпущенных объектов, которые можно использовать повторно
+     */
+    private int[] releasedSlots;
+    /**
+     * Количество ячеек отпущенных объектов
+     */
+    private int releasedCount;
+    /**
+     * Количество свободных объектов, которое остается в пуле после {@link #trim()}
+     */
+    private int trimWatermark;
+    /**
+     * Количество объектов, отпущенных методом {@link #trim()}
+     */
+    private int trimmedCount;
+    /**
+     * Наибольшее количество активных элементов за время жизни пула
+     */
+    private int highWaterMark;
+    /**
+     * Количество объектов, созданных методом {@link #newObject()}
+     */
+    private int createdCount;
+    /**
+     * Количество кадров, в которых пулу не хватило свободных объектов
+     */
+    private int growFrames;
+    /**
+     * Признак того, что пулу не хватило свободных объектов на текущем кадре
+     */
+    private boolean grewThisFrame;
+    /**
+     * Количество объектов, повторно выданных при заполненном пуле
+     */
+    private int evictedCount;
+    /**
+     * Количество отказов при заполненном пуле
+     */
+    private int refusedCount;
+
+    /**
+     * @return количество активных элементов
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return количество свободных элементов
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * @return наибольшее количество активных элементов за время жизни пула
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * @return количество объектов, созданных методом {@link #newObject()} (включая предварительно созданные)
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return количество кадров, в которых пулу не хватило свободных объектов
+     */
+    public int getGrowFrames() {
+        return growFrames;
+    }
+
+    /**
+     * @return количество объектов, повторно выданных при заполненном пуле
+     */
+    public int getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * @return количество отказов при заполненном пуле
+     */
+    public int getRefusedCount() {
+        return refusedCount;
+    }
+
+    /**
+     * @return количество объектов, отпущенных методом {@link #trim()}
+     */
+    public int getTrimmedCount() {
+        return trimmedCount;
+    }
+
+    /**
+     * @param trimWatermark количество свободных объектов, которое остается в пуле после {@link #trim()}
+     */
+    public void setTrimWatermark(int trimWatermark) {
+        this.trimWatermark = Math.max(trimWatermark, 0);
+    }
+
+    /**
+     * @return максимальное количество активных элементов ({@link #UNBOUNDED} - без ограничения)
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Возвращает дескриптор активного элемента по индексу
+     *
+     * @param index индекс элемента (от 0 до {@link #getActiveCount()})
      */
-    protected List<T> activeList;
+    public long getHandle(int index) {
+        int slot = activeSlot[index];
+        return Handle.of(slot, generations[slot]);
+    }
+
     /**
-     * Лист свободных (неактивных) элементов заданного типа T, который имплементирует интерфейс {@link Poolable}
+     * Поиск объекта по дескриптору за O(1)
+     *
+     * @param handle дескриптор
+     * @return активный объект или null, если дескриптор пустой или устарел (объект освобожден, выдан повторно
+     * или уже стал неактивным)
      */
-    protected List<T> freeList;
+    @SuppressWarnings("unchecked")
+    public T resolve(long handle) {
+        int slot = Handle.index(handle);
+        if (slot < 0 || slot >= slotCount || generations[slot] != Handle.generation(handle)) {
+            return null;
+        }
+        T item = (T) slots[slot];
+        return item != null && item.isActive() ? item : null;
+    }
 
     /**
-     * Возвращает лист активных элементов
+     * @return true, если дескриптор указывает на активный объект
      */
-    public List<T> getActiveList() {
-        return activeList;
+    public boolean isValid(long handle) {
+        return resolve(handle) != null;
+    }
+
+    /**
+     * Возвращает активный элемент по индексу
+     *
+     * @param index индекс элемента (от 0 до {@link #getActiveCount()})
+     */
+    @SuppressWarnings("unchecked")
+    public T getActive(int index) {
+        return (T) active[index];
     }
 
     /**
@@ -33,48 +300,369 @@ public abstract class ObjectPool<T extends Poolable> {
     protected abstract T newObject();
 
     /**
-     * Метод, который перекидывает объект из списка активных элементов в список свободных элементов
+     * Метод, который перекидывает объект из массива активных элементов в массив свободных элементов
+     * На место освобожденного элемента переносится последний активный элемент
      */
     public void free(int index) {
-        freeList.add(activeList.remove(index));
+        Object item = active[index];
+        int slot = activeSlot[index];
+        retire(slot, item, false);
+        if (evicting) {
+            unlink(slot);
+        }
+        activeCount--;
+        active[index] = active[activeCount];
+        activeSlot[index] = activeSlot[activeCount];
+        slotIndex[activeSlot[index]] = index;
+        active[activeCount] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+            freeSlot = Arrays.copyOf(freeSlot, free.length);
+        }
+        freeSlot[freeCount] = slot;
+        free[freeCount++] = item;
     }
 
     /**
-     * При пулла объектов создаются пустые списки свободных и активных элементов
+     * Завершение поколения ячейки: все выданные ранее дескрипторы объекта становятся устаревшими
+     *
+     * @param slot     ячейка
+     * @param item     объект ячейки
+     * @param reissued объект сразу выдается повторно (иначе возвращается в пул)
+     */
+    private void retire(int slot, Object item, boolean reissued) {
+        generations[slot]++;
+        if (generations[slot] == 0) {
+            generations[slot] = 1;
+        }
+        if (item instanceof Handled) {
+            ((Handled) item).setHandle(reissued ? Handle.of(slot, generations[slot]) : Handle.NONE);
+        }
+    }
+
+    /**
+     * При создании пулла объектов создаются пустые массивы свободных и активных элементов
+     * Объекты заранее не создаются и при нехватке создаются по одному
      */
     public ObjectPool() {
-        this.activeList = new ArrayList<T>();
-        this.freeList = new ArrayList<T>();
+        this(DEFAULT_CAPACITY, 0, 1);
     }
 
     /**
-     * Метод для получения активного объекта:
-     * 1.Обращаемся к списку свободных элементов.
-     * 2.Если список пуст, создаем новый объект.
-     * 3.Получаем последний из списка элемент.
-     * 4.Добавляем его в список активных элементов и удаляем из списка свободных.
+     * Создание пула без ограничения размера
+     *
+     * @param initialCapacity начальная вместимость массивов
+     * @param prewarmCount    количество объектов, которые создаются заранее {@link #prewarm()}
+     * @param growBy          количество объектов, которые создаются за раз при нехватке свободных
+     */
+    public ObjectPool(int initialCapacity, int prewarmCount, int growBy) {
+        this(initialCapacity, prewarmCount, growBy, UNBOUNDED, EvictionPolicy.REFUSE);
+    }
+
+    /**
+     * При создании пулла объектов создаются пустые массивы свободных и активных элементов заданной вместимости
+     *
+     * @param initialCapacity начальная вместимость массивов
+     * @param prewarmCount    количество объектов, которые создаются заранее {@link #prewarm()}
+     * @param growBy          количество объектов, которые создаются за раз при нехватке свободных
+     * @param maxSize         максимальное количество активных элементов ({@link #UNBOUNDED} - без ограничения)
+     * @param evictionPolicy  политика при достижении максимального размера
+     */
+    public ObjectPool(int initialCapacity, int prewarmCount, int growBy, int maxSize, EvictionPolicy evictionPolicy) {
+        int capacity = Math.max(initialCapacity, 1);
+        if (maxSize != UNBOUNDED) {
+            capacity = Math.min(capacity, maxSize);
+            prewarmCount = Math.min(prewarmCount, maxSize);
+        }
+        this.active = new Object[capacity];
+        this.activeSlot = new int[capacity];
+        this.free = new Object[Math.max(capacity, prewarmCount)];
+        this.freeSlot = new int[free.length];
+        this.slots = new Object[free.length];
+        this.generations = new int[free.length];
+        this.slotIndex = new int[free.length];
+        this.releasePending = new boolean[free.length];
+        this.slotPrev = new int[free.length];
+        this.slotNext = new int[free.length];
+        this.slotLevel = new int[free.length];
+        this.queueHead = new int[0];
+        this.queueTail = new int[0];
+        this.releaseQueue = new int[capacity];
+        this.releasedSlots = new int[DEFAULT_CAPACITY];
+        this.trimWatermark = prewarmCount;
+        this.prewarmCount = prewarmCount;
+        this.growBy = Math.max(growBy, 1);
+        this.maxSize = maxSize;
+        this.evictionPolicy = evictionPolicy;
+        this.evicting = maxSize != UNBOUNDED && evictionPolicy != EvictionPolicy.REFUSE;
+    }
+
+    /**
+     * Метод для предварительного создания объектов (вызывается при загрузке игрового экрана,
+     * после создания контроллера, т.к. {@link #newObject()} может использовать поля наследника)
+     * Создается столько свободных объектов, чтобы всего в пуле было не меньше {@link #prewarmCount}
+     */
+    public void prewarm() {
+        grow(prewarmCount - activeCount - freeCount);
+    }
+
+    /**
+     * Создание заданного количества свободных объектов
+     */
+    private void grow(int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (freeCount + count > free.length) {
+            free = Arrays.copyOf(free, Math.max(free.length * 2, freeCount + count));
+            freeSlot = Arrays.copyOf(freeSlot, free.length);
+        }
+        int newSlots = count - Math.min(count, releasedCount);
+        if (slotCount + newSlots > slots.length) {
+            int capacity = Math.max(slots.length * 2, slotCount + newSlots);
+            slots = Arrays.copyOf(slots, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            slotIndex = Arrays.copyOf(slotIndex, capacity);
+            releasePending = Arrays.copyOf(releasePending, capacity);
+            slotPrev = Arrays.copyOf(slotPrev, capacity);
+            slotNext = Arrays.copyOf(slotNext, capacity);
+            slotLevel = Arrays.copyOf(slotLevel, capacity);
+        }
+        for (int i = 0; i < count; i++) {
+            T item = newObject();
+            int slot;
+            if (releasedCount > 0) {
+                slot = releasedSlots[--releasedCount];
+            } else {
+                slot = slotCount++;
+                generations[slot] = 1;
+            }
+            slots[slot] = item;
+            freeSlot[freeCount] = slot;
+            free[freeCount++] = item;
+        }
+        createdCount += count;
+    }
+
+    /**
+     * Метод для освобождения памяти после пиковых нагрузок с порогом по умолчанию {@link #trimWatermark}
+     *
+     * @return количество отпущенных объектов
+     */
+    public int trim() {
+        return trim(trimWatermark);
+    }
+
+    /**
+     * Метод для освобождения памяти после пиковых нагрузок:
+     * 1.Лишние свободные объекты (сверх порога) удаляются из пула, и на них больше нет ссылок.
+     * 2.Ячейки удаленных объектов запоминаются для повторного использования (поколение ячейки сохраняется,
+     * поэтому старые дескрипторы остаются устаревшими).
+     * 3.Массив свободных элементов сжимается.
+     * Активные элементы не затрагиваются
+     *
+     * @param watermark количество свободных объектов, которое остается в пуле
+     * @return количество отпущенных объектов
+     */
+    public int trim(int watermark) {
+        int keep = Math.max(watermark, 0);
+        int removed = 0;
+        while (freeCount > keep) {
+            freeCount--;
+            int slot = freeSlot[freeCount];
+            free[freeCount] = null;
+            slots[slot] = null;
+            if (releasedCount == releasedSlots.length) {
+                releasedSlots = Arrays.copyOf(releasedSlots, releasedCount * 2);
+            }
+            releasedSlots[releasedCount++] = slot;
+            removed++;
+        }
+        int capacity = Math.max(keep, DEFAULT_CAPACITY);
+        if (free.length > capacity) {
+            free = Arrays.copyOf(free, capacity);
+            freeSlot = Arrays.copyOf(freeSlot, capacity);
+        }
+        trimmedCount += removed;
+        return removed;
+    }
+
+    /**
+     * Метод для получения активного объекта с нулевым приоритетом {@link #getActiveElement(int)}
      *
-     * @return активный элемент типа  T
+     * @return активный элемент типа T или null, если пул заполнен и отказывает в выдаче
      */
     public T getActiveElement() {
-        if (freeList.size() == 0) {
-            freeList.add(newObject());
+        return getActiveElement(0);
+    }
+
+    /**
+     * Метод для получения активного объекта:
+     * 1.Если пул заполнен, действуем по политике {@link #evictionPolicy}: отказываем или выдаем повторно уже активный объект
+     * 2.Обращаемся к массиву свободных элементов.
+     * 3.Если он пуст, создаем {@link #growBy} новых объектов.
+     * 4.Получаем последний свободный элемент.
+     * 5.Добавляем его в конец массива активных элементов.
+     *
+     * @param priority приоритет объекта (неотрицательный, объекты с меньшим приоритетом выдаются повторно раньше)
+     * @return активный элемент типа T или null, если пул заполнен и отказывает в выдаче
+     */
+    @SuppressWarnings("unchecked")
+    public T getActiveElement(int priority) {
+        int level = 0;
+        if (evictionPolicy == EvictionPolicy.LOWEST_PRIORITY_FIRST) {
+            if (priority < 0) {
+                throw new IllegalArgumentException("Pool priority must not be negative: " + priority);
+            }
+            level = priority;
+        }
+        if (maxSize != UNBOUNDED && activeCount >= maxSize) {
+            if (evictionPolicy == EvictionPolicy.REFUSE) {
+                refusedCount++;
+                return null;
+            }
+            int index = findVictim();
+            int slot = activeSlot[index];
+            evictedCount++;
+            releasePending[slot] = false;
+            retire(slot, active[index], true);
+            unlink(slot);
+            link(slot, level);
+            return (T) active[index];
+        }
+        if (freeCount == 0) {
+            grow(growBy);
+            grewThisFrame = true;
+        }
+        freeCount--;
+        T temp = (T) free[freeCount];
+        int slot = freeSlot[freeCount];
+        free[freeCount] = null;
+        if (activeCount == active.length) {
+            int capacity = activeCount * 2;
+            if (maxSize != UNBOUNDED) {
+                capacity = Math.min(capacity, maxSize);
+            }
+            active = Arrays.copyOf(active, capacity);
+            activeSlot = Arrays.copyOf(activeSlot, capacity);
+        }
+        if (evicting) {
+            link(slot, level);
+        }
+        activeSlot[activeCount] = slot;
+        slotIndex[slot] = activeCount;
+        active[activeCount++] = temp;
+        if (temp instanceof Handled) {
+            ((Handled) temp).setHandle(Handle.of(slot, generations[slot]));
+        }
+        if (activeCount > highWaterMark) {
+            highWaterMark = activeCount;
         }
-        T temp = freeList.remove(freeList.size() - 1);
-        activeList.add(temp);
         return temp;
     }
 
     /**
-     * Метод для проверки активных элементов:
-     * 1.Проходим по списку активных элементов с конца
-     * 2.Если есть объект, который отработал свое (признак active == false),то добавляем его с список свободных эл-в удаляем его из списка активных эл-в {@link #free(int)}
+     * Поиск активного элемента, который будет выдан повторно: элемента из очереди на освобождение (он уже отработал),
+     * иначе первого элемента первой непустой очереди приоритетов - самого старого или (для
+     * {@link EvictionPolicy#LOWEST_PRIORITY_FIRST}) самого старого среди элементов с наименьшим приоритетом.
+     * Очередь на освобождение просматривается с позиции {@link #releaseScan}, поэтому каждая ячейка проверяется
+     * за кадр один раз, а очереди приоритетов - только по уровням, без обхода активных элементов
+     *
+     * @return индекс элемента
+     */
+    private int findVictim() {
+        while (releaseScan < releaseCount) {
+            int slot = releaseQueue[releaseScan];
+            if (releasePending[slot]) {
+                return slotIndex[slot];
+            }
+            releaseScan++;
+        }
+        for (int level = 0; level < queueHead.length; level++) {
+            if (queueHead[level] != -1) {
+                return slotIndex[queueHead[level]];
+            }
+        }
+        throw new IllegalStateException("Pool has no active elements to evict");
+    }
+
+    /**
+     * Добавление ячейки в конец очереди приоритета (очереди для новых приоритетов создаются при первом обращении)
+     */
+    private void link(int slot, int level) {
+        if (level >= queueHead.length) {
+            int levels = queueHead.length;
+            queueHead = Arrays.copyOf(queueHead, level + 1);
+            queueTail = Arrays.copyOf(queueTail, level + 1);
+            Arrays.fill(queueHead, levels, level + 1, -1);
+            Arrays.fill(queueTail, levels, level + 1, -1);
+        }
+        slotLevel[slot] = level;
+        slotPrev[slot] = queueTail[level];
+        slotNext[slot] = -1;
+        if (queueTail[level] == -1) {
+            queueHead[level] = slot;
+        } else {
+            slotNext[queueTail[level]] = slot;
+        }
+        queueTail[level] = slot;
+    }
+
+    /**
+     * Удаление ячейки из очереди ее приоритета
+     */
+    private void unlink(int slot) {
+        int level = slotLevel[slot];
+        if (slotPrev[slot] == -1) {
+            queueHead[level] = slotNext[slot];
+        } else {
+            slotNext[slotPrev[slot]] = slotNext[slot];
+        }
+        if (slotNext[slot] == -1) {
+            queueTail[level] = slotPrev[slot];
+        } else {
+            slotPrev[slotNext[slot]] = slotPrev[slot];
+        }
+    }
+
+    /**
+     * Постановка элемента в очередь на освобождение (вызывается элементом при деактивации)
+     * Устаревший дескриптор и повторный вызов игнорируются
+     *
+     * @param handle дескриптор элемента
+     */
+    public void release(long handle) {
+        int slot = Handle.index(handle);
+        if (slot < 0 || slot >= slotCount || generations[slot] != Handle.generation(handle)
+            || slots[slot] == null || releasePending[slot]) {
+            return;
+        }
+        releasePending[slot] = true;
+        if (releaseCount == releaseQueue.length) {
+            releaseQueue = Arrays.copyOf(releaseQueue, releaseCount * 2);
+        }
+        releaseQueue[releaseCount++] = slot;
+    }
+
+    /**
+     * Метод для освобождения элементов в конце кадра:
+     * 1.Проходим по очереди ячеек на освобождение и переносим элементы в массив свободных элементов {@link #free(int)}
+     * (ячейки, элементы которых уже выданы повторно, пропускаются)
+     * 2.Если на прошедшем кадре пулу не хватило свободных объектов, увеличиваем счетчик кадров роста
      */
     public void checkPool() {
-        for (int i = activeList.size() - 1; i >= 0; i--) {
-            if (!activeList.get(i).isActive()) {
-                free(i);
+        if (grewThisFrame) {
+            growFrames++;
+            grewThisFrame = false;
+        }
+        for (int i = 0; i < releaseCount; i++) {
+            int slot = releaseQueue[i];
+            if (releasePending[slot]) {
+                releasePending[slot] = false;
+                free(slotIndex[slot]);
             }
         }
+        releaseCount = 0;
+        releaseScan = 0;
     }
 }
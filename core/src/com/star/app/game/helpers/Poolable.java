@@ -2,6 +2,8 @@ package com.star.app.game.helpers;
 
 /**
  * Интерфейс, который будет реализовываться пулл-объектами
+ * Пул освобождает только элементы, поставленные в очередь {@link ObjectPool#release(long)},
+ * поэтому элемент при деактивации должен сообщить о ней пулу (см. {@link PooledObject})
  */
 public interface Poolable {
     /**
@@ -0,0 +1,49 @@
+package com.star.app.game.helpers;
+
+/**
+ * Базовый класс для объектов пула {@link ObjectPool}, которые сами сообщают пулу о своей деактивации.
+ * Объект хранит ссылку на свой пул и дескриптор {@link Handle}, который пул записывает при выдаче.
+ * При деактивации наследник вызывает {@link #release()}, и пул освобождает объект в конце кадра
+ * {@link ObjectPool#checkPool()} без проверки остальных активных элементов
+ */
+public abstract class PooledObject implements Poolable, Handled {
+    /**
+     * Пул, которому принадлежит объект
+     */
+    private final ObjectPool<?> pool;
+    /**
+     * Дескриптор объекта
+     */
+    private long handle;
+
+    /**
+     * @param pool пул, которому принадлежит объект
+     */
+    protected PooledObject(ObjectPool<?> pool) {
+        this.pool = pool;
+        this.handle = Handle.NONE;
+    }
+
+    /**
+     * @return дескриптор объекта
+     */
+    @Override
+    public long getHandle() {
+        return handle;
+    }
+
+    /**
+     * @param handle дескриптор объекта (устанавливается пулом)
+     */
+    @Override
+    public void setHandle(long handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Постановка объекта в очередь пула на освобождение
+     */
+    protected void release() {
+        pool.release(handle);
+    }
+}
@@ -0,0 +1,18 @@
+package com.star.app.game.interfacies;
+
+/**
+ * Интерфейс для объектов, участвующих в проверке столкновений.
+ * Категория - бит слоя, к которому относится объект, маска - биты слоев, с которыми он может столкнуться
+ * (константы {@link com.star.app.game.collisions.CollisionLayers})
+ */
+public interface Collidable {
+    /**
+     * @return бит слоя, к которому относится объект
+     */
+    int getCategory();
+
+    /**
+     * @return биты слоев, с которыми объект может столкнуться
+     */
+    int getMask();
+}
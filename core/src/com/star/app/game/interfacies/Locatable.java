@@ -0,0 +1,13 @@
+package com.star.app.game.interfacies;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Интерфейс для объектов, имеющих позицию в игровом мире
+ */
+public interface Locatable {
+    /**
+     * @return позиция объекта
+     */
+    Vector2 getPosition();
+}
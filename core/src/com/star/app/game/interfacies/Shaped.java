@@ -0,0 +1,19 @@
+package com.star.app.game.interfacies;
+
+import com.star.app.game.collisions.HitShape;
+
+/**
+ * Интерфейс для объектов с составной зоной поражения {@link HitShape}.
+ * Зона поражения объекта {@link #getHitArea()} служит описанным кругом формы
+ */
+public interface Shaped extends Pushable {
+    /**
+     * @return составная зона поражения
+     */
+    HitShape getHitShape();
+
+    /**
+     * @return угол поворота объекта в градусах
+     */
+    float getAngle();
+}
@@ -0,0 +1,134 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.star.app.game.controllers.ParticleController;
+import com.star.app.game.enums.EffectCategory;
+
+/**
+ * Неизменяемый шаблон эффекта, собранный из описания {@link ParticleEffects} при загрузке.
+ * Все частицы всех излучателей эффекта лежат в одних массивах: начальные скорости по направлениям
+ * посчитаны заранее (cos и sin угла умножены на скорость), поэтому при создании эффекта
+ * не вычисляются тригонометрические функции - к заранее посчитанным значениям добавляются
+ * только позиция, доля скорости источника и случайный разброс.
+ * Цвет, прозрачность и размер частиц заданы номером рампы в общей таблице {@link ParticleRamps}
+ */
+public final class EffectTemplate {
+    /**
+     * Название эффекта
+     */
+    private final String name;
+    /**
+     * Приоритет частиц эффекта
+     */
+    private final int priority;
+    /**
+     * Категория эффекта для регулятора количества частиц {@link ParticleBudget}
+     */
+    private final EffectCategory category;
+    /**
+     * Количество частиц эффекта
+     */
+    private final int count;
+    /**
+     * Начальные скорости частиц по направлениям излучателя
+     */
+    private final float[] vx;
+    private final float[] vy;
+    /**
+     * Разброс позиции
+     */
+    private final float[] spread;
+    /**
+     * Доля скорости источника, которую получает частица
+     */
+    private final float[] inherit;
+    /**
+     * Разброс скорости
+     */
+    private final float[] velocitySpread;
+    /**
+     * Время жизни
+     */
+    private final float[] timeMax;
+    /**
+     * Номера рамп
+     */
+    private final int[] ramp;
+
+    EffectTemplate(String name, int priority, EffectCategory category, int count) {
+        this.name = name;
+        this.priority = priority;
+        this.category = category;
+        this.count = count;
+        this.vx = new float[count];
+        this.vy = new float[count];
+        this.spread = new float[count];
+        this.inherit = new float[count];
+        this.velocitySpread = new float[count];
+        this.timeMax = new float[count];
+        this.ramp = new int[count];
+    }
+
+    /**
+     * Заполнение частиц одного излучателя (вызывается только при сборке шаблона).
+     * Частица с номером i летит под углом angleStart + angleStep * i со скоростью speed
+     *
+     * @param from номер первой частицы излучателя в шаблоне
+     * @param to   номер частицы, следующей за последней
+     * @param ramp номер рампы излучателя
+     */
+    void fill(int from, int to, float angleStart, float angleStep, float speed,
+              float spread, float inherit, float velocitySpread, float timeMax, int ramp) {
+        for (int i = from; i < to; i++) {
+            float angle = angleStart + angleStep * (i - from);
+            this.vx[i] = speed == 0.0f ? 0.0f : (float) Math.cos(angle) * speed;
+            this.vy[i] = speed == 0.0f ? 0.0f : (float) Math.sin(angle) * speed;
+            this.spread[i] = spread;
+            this.inherit[i] = inherit;
+            this.velocitySpread[i] = velocitySpread;
+            this.timeMax[i] = timeMax;
+            this.ramp[i] = ramp;
+        }
+    }
+
+    /**
+     * Создание всех частиц эффекта одним вызовом
+     *
+     * @param controller контроллер частиц
+     * @param x          координата х источника
+     * @param y          координата у источника
+     * @param vx         скорость источника по оси х
+     * @param vy         скорость источника по оси у
+     */
+    public void spawn(ParticleController controller, float x, float y, float vx, float vy) {
+        for (int i = 0; i < count; i++) {
+            float s = spread[i];
+            float vs = velocitySpread[i];
+            controller.setup(
+                s == 0.0f ? x : x + MathUtils.random(-s, s),
+                s == 0.0f ? y : y + MathUtils.random(-s, s),
+                this.vx[i] + vx * inherit[i] + (vs == 0.0f ? 0.0f : MathUtils.random(-vs, vs)),
+                this.vy[i] + vy * inherit[i] + (vs == 0.0f ? 0.0f : MathUtils.random(-vs, vs)),
+                timeMax[i], ramp[i], priority);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public EffectCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * @return количество частиц эффекта
+     */
+    public int getCount() {
+        return count;
+    }
+}
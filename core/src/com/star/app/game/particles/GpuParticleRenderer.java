@@ -0,0 +1,262 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Отрисовщик системы частиц {@link ParticleSystem} на видеокарте.
+ * Каждая частица - четыре вершины динамического {@link Mesh}, в которых хранятся начальная позиция, скорость,
+ * время появления, время жизни и номер рампы. Эти данные загружаются один раз -
+ * при появлении частицы (или при ее переносе на другой индекс во время удаления отживших частиц).
+ * Позицию на текущий момент вычисляет шейдер по общему времени {@link #clock}, а цвет, прозрачность и размер
+ * берет из текстуры рамп {@link ParticleRamps#createTexture()} (выборка текстуры в вершинном шейдере),
+ * поэтому на каждом кадре процессор только передает время и вызывает отрисовку.
+ * Номера вершин хранятся в short, поэтому частицы делятся на сетки по {@link #MESH_PARTICLES}
+ * и рисуются несколькими вызовами
+ */
+public class GpuParticleRenderer {
+    /**
+     * Количество float в одной вершине
+     */
+    private static final int VERTEX_SIZE = 11;
+    /**
+     * Количество вершин одной частицы
+     */
+    private static final int VERTICES_PER_PARTICLE = 4;
+    /**
+     * Количество индексов одной частицы (два треугольника)
+     */
+    private static final int INDICES_PER_PARTICLE = 6;
+    /**
+     * Количество float одной частицы
+     */
+    private static final int PARTICLE_SIZE = VERTEX_SIZE * VERTICES_PER_PARTICLE;
+    /**
+     * Наибольшее количество частиц в одной сетке (номера вершин хранятся в short)
+     */
+    private static final int MESH_PARTICLES = Short.MAX_VALUE / VERTICES_PER_PARTICLE;
+    /**
+     * Время, после которого общее время сбрасывается в ноль, чтобы не терять точность float
+     */
+    private static final float CLOCK_REBASE = 600.0f;
+    /**
+     * Смещения углов частицы относительно центра
+     */
+    private static final float[] CORNER_X = {-1.0f, 1.0f, 1.0f, -1.0f};
+    private static final float[] CORNER_Y = {-1.0f, -1.0f, 1.0f, 1.0f};
+    /**
+     * Сетки вершин частиц: сетка с номером k хранит частицы [k * MESH_PARTICLES; (k + 1) * MESH_PARTICLES)
+     */
+    private final Mesh[] meshes;
+    /**
+     * Копия вершин в памяти (источник для загрузки измененных частиц)
+     */
+    private final float[] vertices;
+    /**
+     * Шейдер частиц
+     */
+    private final ShaderProgram shader;
+    /**
+     * Текстура рамп
+     */
+    private final Texture rampTexture;
+    /**
+     * Количество рамп (строк цвета в текстуре)
+     */
+    private final int rampRows;
+    /**
+     * Изображение частицы
+     */
+    private final TextureRegion region;
+    /**
+     * Половина размера изображения
+     */
+    private final float halfSize;
+    /**
+     * Наибольшее количество частиц
+     */
+    private final int capacity;
+    /**
+     * Общее время, от которого шейдер отсчитывает возраст частиц
+     */
+    private float clock;
+
+    /**
+     * @param capacity наибольшее количество частиц
+     * @param region   изображение частицы
+     * @param size     размер изображения
+     * @param ramps    таблица градиентов системы частиц
+     */
+    public GpuParticleRenderer(int capacity, TextureRegion region, float size, ParticleRamps ramps) {
+        this.capacity = capacity;
+        this.region = region;
+        this.halfSize = size / 2.0f;
+        this.vertices = new float[capacity * PARTICLE_SIZE];
+        int meshParticles = Math.min(capacity, MESH_PARTICLES);
+        short[] indices = new short[meshParticles * INDICES_PER_PARTICLE];
+        for (int i = 0, v = 0; i < indices.length; i += INDICES_PER_PARTICLE, v += VERTICES_PER_PARTICLE) {
+            indices[i] = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) (v + 2);
+            indices[i + 4] = (short) (v + 3);
+            indices[i + 5] = (short) v;
+        }
+        this.meshes = new Mesh[(capacity + MESH_PARTICLES - 1) / MESH_PARTICLES];
+        for (int k = 0; k < meshes.length; k++) {
+            int first = k * MESH_PARTICLES;
+            int particles = Math.min(capacity - first, MESH_PARTICLES);
+            meshes[k] = new Mesh(false, particles * VERTICES_PER_PARTICLE, particles * INDICES_PER_PARTICLE,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, "a_start"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_velocity"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_corner"),
+                new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, "a_texCoord0"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_life"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, "a_ramp"));
+            meshes[k].setIndices(indices, 0, particles * INDICES_PER_PARTICLE);
+            meshes[k].setVertices(vertices, first * PARTICLE_SIZE, particles * PARTICLE_SIZE);
+        }
+        this.shader = new ShaderProgram(Gdx.files.internal("shaders/particle_vertex.glsl").readString(),
+            Gdx.files.internal("shaders/particle_fragment.glsl").readString());
+        if (!shader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling shader:" + shader.getLog());
+        }
+        this.rampTexture = ramps.createTexture();
+        this.rampRows = Math.max(ramps.getCount(), 1);
+    }
+
+    /**
+     * Увеличение общего времени. Когда оно становится большим, оно сбрасывается,
+     * и все частицы загружаются заново с временем появления относительно нового отсчета
+     *
+     * @param system система частиц
+     * @param dt     время, прошедшее с прошлого кадра
+     */
+    public void update(ParticleSystem system, float dt) {
+        clock += dt;
+        if (clock > CLOCK_REBASE) {
+            clock = 0.0f;
+            system.markAllDirty();
+        }
+    }
+
+    /**
+     * Метод для отрисовки:
+     * 1.Загружаются вершины частиц, которые появились или были перенесены с прошлого кадра
+     * 2.В режиме свечения частицы рисуются одним вызовом: шейдер умножает цвет на прозрачность и на {@link ParticleSystem#GLOW},
+     * смешивание GL_ONE, GL_ONE_MINUS_SRC_ALPHA. Иначе - двумя вызовами с тем же смешиванием, что и на батче:
+     * GL_ONE_MINUS_SRC_ALPHA, затем аддитивное GL_ONE.
+     * Вызывается вне батча (между end и begin), т.к. используется собственный шейдер
+     *
+     * @param system     система частиц
+     * @param projection матрица проекции батча
+     * @param glow       режим свечения за один проход
+     */
+    public void render(ParticleSystem system, Matrix4 projection, boolean glow) {
+        upload(system);
+        int count = Math.min(system.getCount(), capacity);
+        if (count == 0) {
+            return;
+        }
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        rampTexture.bind(1);
+        region.getTexture().bind(0);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        shader.setUniformi("u_ramps", 1);
+        shader.setUniformf("u_rampRows", rampRows);
+        shader.setUniformf("u_rampResolution", ParticleRamps.RESOLUTION);
+        shader.setUniformf("u_sizeRange", ParticleRamps.SIZE_RANGE);
+        shader.setUniformf("u_time", clock);
+        shader.setUniformf("u_halfSize", halfSize);
+        if (glow) {
+            shader.setUniformf("u_glow", ParticleSystem.GLOW);
+            Gdx.gl.glBlendFunc(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            renderMeshes(count);
+        } else {
+            shader.setUniformf("u_glow", 0.0f);
+            Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            renderMeshes(count);
+            Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+            renderMeshes(count);
+        }
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /**
+     * Отрисовка первых count частиц: по одному вызову на каждую заполненную сетку
+     */
+    private void renderMeshes(int count) {
+        for (int k = 0; k < meshes.length && k * MESH_PARTICLES < count; k++) {
+            int particles = Math.min(count - k * MESH_PARTICLES, MESH_PARTICLES);
+            meshes[k].render(shader, GL20.GL_TRIANGLES, 0, particles * INDICES_PER_PARTICLE);
+        }
+    }
+
+    /**
+     * Загрузка вершин измененных частиц.
+     * Начальная позиция восстанавливается из текущей (частица движется равномерно),
+     * время появления - из текущего возраста частицы
+     */
+    private void upload(ParticleSystem system) {
+        int from = system.getDirtyFrom();
+        int to = Math.min(system.getDirtyTo(), capacity);
+        if (from >= to) {
+            system.clearDirty();
+            return;
+        }
+        float u = region.getU();
+        float v = region.getV();
+        float u2 = region.getU2();
+        float v2 = region.getV2();
+        for (int i = from; i < to; i++) {
+            float timeMax = 1.0f / system.ageRate[i];
+            float time = system.age[i] * timeMax;
+            float startX = system.x[i] - system.vx[i] * time;
+            float startY = system.y[i] - system.vy[i] * time;
+            float spawnTime = clock - time;
+            int offset = i * PARTICLE_SIZE;
+            for (int c = 0; c < VERTICES_PER_PARTICLE; c++) {
+                int k = offset + c * VERTEX_SIZE;
+                vertices[k] = startX;
+                vertices[k + 1] = startY;
+                vertices[k + 2] = system.vx[i];
+                vertices[k + 3] = system.vy[i];
+                vertices[k + 4] = CORNER_X[c];
+                vertices[k + 5] = CORNER_Y[c];
+                vertices[k + 6] = CORNER_X[c] < 0 ? u : u2;
+                vertices[k + 7] = CORNER_Y[c] < 0 ? v2 : v;
+                vertices[k + 8] = spawnTime;
+                vertices[k + 9] = timeMax;
+                vertices[k + 10] = system.ramp[i];
+            }
+        }
+        for (int k = from / MESH_PARTICLES; k < meshes.length && k * MESH_PARTICLES < to; k++) {
+            int first = k * MESH_PARTICLES;
+            int start = Math.max(from, first);
+            int end = Math.min(to, first + MESH_PARTICLES);
+            meshes[k].updateVertices((start - first) * PARTICLE_SIZE, vertices, start * PARTICLE_SIZE,
+                (end - start) * PARTICLE_SIZE);
+        }
+        system.clearDirty();
+    }
+
+    /**
+     * Освобождение ресурсов видеокарты
+     */
+    public void dispose() {
+        for (Mesh mesh : meshes) {
+            mesh.dispose();
+        }
+        shader.dispose();
+        rampTexture.dispose();
+    }
+}
@@ -0,0 +1,208 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.utils.StringBuilder;
+import com.star.app.game.enums.EffectCategory;
+
+/**
+ * Регулятор количества частиц по времени кадра.
+ * Время кадра ограничивается сверху {@link #MAX_FRAME_RATIO} целевого (один долгий кадр - загрузка уровня,
+ * сборка мусора, перетаскивание окна - почти не сдвигает среднее) и сглаживается экспоненциальным средним.
+ * Если оно дольше целевого больше чем в {@link #DEGRADE_RATIO} раз, качество {@link #quality} уменьшается
+ * на {@link #DEGRADE_STEP}; если оно не дольше целевого с запасом {@link #RECOVER_RATIO}
+ * (при вертикальной синхронизации время кадра равно целевому), качество увеличивается на меньший шаг {@link #RECOVER_STEP}. Между порогами качество не меняется,
+ * а после каждого изменения выдерживается пауза {@link #HOLD_FRAMES} кадров, поэтому качество не скачет.
+ * Доля создаваемых эффектов категории {@link EffectCategory} линейно зависит от качества и не опускается
+ * ниже нижней границы категории. Эффекты пропускаются равномерно: доля накапливается при каждом вызове {@link #allow}
+ */
+public class ParticleBudget {
+    /**
+     * Целевое время кадра по умолчанию (60 кадров в секунду)
+     */
+    private static final float DEFAULT_TARGET_FRAME_TIME = 1.0f / 60.0f;
+    /**
+     * Вес нового кадра в экспоненциальном среднем
+     */
+    private static final float SMOOTHING = 0.1f;
+    /**
+     * Во сколько раз время кадра должно превысить целевое, чтобы качество уменьшилось
+     */
+    private static final float DEGRADE_RATIO = 1.15f;
+    /**
+     * Во сколько раз время кадра может превышать целевое, чтобы качество увеличилось
+     */
+    private static final float RECOVER_RATIO = 1.02f;
+    /**
+     * Во сколько раз время кадра может превышать целевое при учете в среднем
+     */
+    private static final float MAX_FRAME_RATIO = 1.5f;
+    /**
+     * Шаг уменьшения качества
+     */
+    private static final float DEGRADE_STEP = 0.1f;
+    /**
+     * Шаг увеличения качества
+     */
+    private static final float RECOVER_STEP = 0.05f;
+    /**
+     * Количество кадров после изменения качества, в течение которых оно не меняется
+     */
+    private static final int HOLD_FRAMES = 30;
+    /**
+     * Целевое время кадра
+     */
+    private float targetFrameTime;
+    /**
+     * Сглаженное время кадра
+     */
+    private float frameTime;
+    /**
+     * Качество от 0 (только нижние границы категорий) до 1 (все эффекты)
+     */
+    private float quality;
+    /**
+     * Кадры до следующего возможного изменения качества
+     */
+    private int hold;
+    /**
+     * Доля создаваемых эффектов по категориям
+     */
+    private final float[] scales;
+    /**
+     * Накопленная доля по категориям
+     */
+    private final float[] accumulators;
+    /**
+     * Количество пропущенных эффектов по категориям
+     */
+    private final int[] skipped;
+    /**
+     * Признак работы регулятора (иначе создаются все эффекты)
+     */
+    private boolean enabled;
+
+    public ParticleBudget() {
+        int categories = EffectCategory.values().length;
+        this.scales = new float[categories];
+        this.accumulators = new float[categories];
+        this.skipped = new int[categories];
+        this.targetFrameTime = DEFAULT_TARGET_FRAME_TIME;
+        this.frameTime = DEFAULT_TARGET_FRAME_TIME;
+        this.enabled = true;
+        setQuality(1.0f);
+    }
+
+    /**
+     * Учет времени очередного кадра и изменение качества
+     *
+     * @param dt время, прошедшее с прошлого кадра
+     */
+    public void update(float dt) {
+        frameTime += (Math.min(dt, targetFrameTime * MAX_FRAME_RATIO) - frameTime) * SMOOTHING;
+        if (hold > 0) {
+            hold--;
+            return;
+        }
+        if (frameTime > targetFrameTime * DEGRADE_RATIO && quality > 0.0f) {
+            setQuality(Math.max(quality - DEGRADE_STEP, 0.0f));
+            hold = HOLD_FRAMES;
+        } else if (frameTime <= targetFrameTime * RECOVER_RATIO && quality < 1.0f) {
+            setQuality(Math.min(quality + RECOVER_STEP, 1.0f));
+            hold = HOLD_FRAMES;
+        }
+    }
+
+    /**
+     * Проверка, нужно ли создавать эффект категории
+     *
+     * @param category категория эффекта
+     * @return true, если эффект создается
+     */
+    public boolean allow(EffectCategory category) {
+        if (!enabled) {
+            return true;
+        }
+        int index = category.ordinal();
+        accumulators[index] += scales[index];
+        if (accumulators[index] >= 1.0f) {
+            accumulators[index] -= 1.0f;
+            return true;
+        }
+        skipped[index]++;
+        return false;
+    }
+
+    private void setQuality(float quality) {
+        this.quality = quality;
+        for (EffectCategory category : EffectCategory.values()) {
+            float floor = category.getFloor();
+            scales[category.ordinal()] = floor + (1.0f - floor) * quality;
+        }
+    }
+
+    /**
+     * Возврат к полному качеству (при включении и выключении регулятора)
+     */
+    public void reset() {
+        setQuality(1.0f);
+        frameTime = targetFrameTime;
+        hold = 0;
+    }
+
+    /**
+     * Запись качества, доли эффектов и количества пропущенных эффектов по категориям одной строкой
+     */
+    public void appendStats(StringBuilder sb) {
+        sb.append("particle budget q:").append(quality)
+            .append(" frame:").append(frameTime * 1000.0f).append("ms");
+        for (EffectCategory category : EffectCategory.values()) {
+            sb.append(' ').append(category.name()).append(':').append(scales[category.ordinal()])
+                .append('/').append(skipped[category.ordinal()]);
+        }
+        sb.append("\n");
+    }
+
+    /**
+     * @return качество от 0 до 1
+     */
+    public float getQuality() {
+        return quality;
+    }
+
+    /**
+     * @return доля создаваемых эффектов категории
+     */
+    public float getScale(EffectCategory category) {
+        return enabled ? scales[category.ordinal()] : 1.0f;
+    }
+
+    /**
+     * @return количество пропущенных эффектов категории
+     */
+    public int getSkipped(EffectCategory category) {
+        return skipped[category.ordinal()];
+    }
+
+    /**
+     * @return сглаженное время кадра
+     */
+    public float getFrameTime() {
+        return frameTime;
+    }
+
+    public float getTargetFrameTime() {
+        return targetFrameTime;
+    }
+
+    public void setTargetFrameTime(float targetFrameTime) {
+        this.targetFrameTime = targetFrameTime;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        reset();
+    }
+}
@@ -0,0 +1,119 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.star.app.game.enums.EffectCategory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Набор шаблонов эффектов {@link EffectTemplate}, загружаемый из файла данных через {@link ParticleEffectsLoader}.
+ * Формат файла: для каждого эффекта задаются приоритет частиц (0 - следы, 1 - попадания, 2 - взрывы),
+ * категория {@link EffectCategory} (по умолчанию EXPLOSION) и список излучателей
+ * { "botIsDead": { "priority": 2, "category": "EXPLOSION", "emitters": [ { "count": 16, "angleStep": 0.43, "speed": 100, "time": 1.5,
+ * "size": [3.0, 1.5], "from": [0, 1, 0, 1], "to": [0, 1, 0.3, 0] }, ... ] }, ... }
+ * Необязательные поля излучателя: angleStart - угол первой частицы, spread - разброс позиции,
+ * inherit - доля скорости источника, velocitySpread - разброс скорости.
+ * Вместо size, from и to можно задать градиент из нескольких точек
+ * "ramp": [ { "t": 0.0, "color": [1, 1, 1, 1], "size": 2.0 }, { "t": 0.3, ... }, { "t": 1.0, ... } ]
+ * Градиенты всех излучателей заранее считаются в общую таблицу {@link ParticleRamps}
+ * Градиент из нескольких точек рисует только система частиц: частицы-объекты из пула используют лишь первую
+ * и последнюю точку, поэтому при таких градиентах режим пула не включается
+ * {@link com.star.app.game.controllers.ParticleController#setSoaParticles}
+ */
+public class ParticleEffects {
+    /**
+     * Путь к файлу с эффектами по умолчанию
+     */
+    public static final String DEFAULT_PATH = "data/effects.json";
+    /**
+     * Шаблоны по названию эффекта
+     */
+    private final Map<String, EffectTemplate> templates;
+    /**
+     * Таблица градиентов, на которую ссылаются шаблоны
+     */
+    private final ParticleRamps ramps;
+
+    private ParticleEffects() {
+        this.templates = new HashMap<String, EffectTemplate>();
+        this.ramps = new ParticleRamps();
+    }
+
+    /**
+     * Загрузка описаний эффектов из файла и сборка шаблонов
+     *
+     * @param file файл данных
+     * @return набор шаблонов
+     */
+    public static ParticleEffects load(FileHandle file) {
+        ParticleEffects result = new ParticleEffects();
+        JsonValue root = new JsonReader().parse(file);
+        for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+            JsonValue emitters = entry.get("emitters");
+            int count = 0;
+            for (JsonValue emitter = emitters.child; emitter != null; emitter = emitter.next) {
+                count += emitter.getInt("count", 1);
+            }
+            EffectTemplate template = new EffectTemplate(entry.name, entry.getInt("priority", 0),
+                EffectCategory.valueOf(entry.getString("category", EffectCategory.EXPLOSION.name())), count);
+            int from = 0;
+            for (JsonValue emitter = emitters.child; emitter != null; emitter = emitter.next) {
+                int to = from + emitter.getInt("count", 1);
+                template.fill(from, to,
+                    emitter.getFloat("angleStart", 0.0f), emitter.getFloat("angleStep", 0.0f),
+                    emitter.getFloat("speed", 0.0f), emitter.getFloat("spread", 0.0f),
+                    emitter.getFloat("inherit", 0.0f), emitter.getFloat("velocitySpread", 0.0f),
+                    emitter.getFloat("time"), result.loadRamp(emitter));
+                from = to;
+            }
+            result.templates.put(entry.name, template);
+        }
+        return result;
+    }
+
+    /**
+     * Сборка рампы излучателя: из списка точек ramp или из начального и конечного состояния (size, from, to)
+     *
+     * @return номер рампы
+     */
+    private int loadRamp(JsonValue emitter) {
+        JsonValue points = emitter.get("ramp");
+        if (points == null) {
+            float[] size = emitter.get("size").asFloatArray();
+            float[] color1 = emitter.get("from").asFloatArray();
+            float[] color2 = emitter.get("to").asFloatArray();
+            return ramps.add(size[0], size[1],
+                color1[0], color1[1], color1[2], color1[3],
+                color2[0], color2[1], color2[2], color2[3]);
+        }
+        float[] stops = new float[points.size];
+        float[] colors = new float[points.size * 4];
+        float[] sizes = new float[points.size];
+        int i = 0;
+        for (JsonValue point = points.child; point != null; point = point.next) {
+            stops[i] = point.getFloat("t");
+            System.arraycopy(point.get("color").asFloatArray(), 0, colors, i * 4, 4);
+            sizes[i] = point.getFloat("size");
+            i++;
+        }
+        return ramps.add(stops, colors, sizes);
+    }
+
+    /**
+     * @return таблица градиентов
+     */
+    public ParticleRamps getRamps() {
+        return ramps;
+    }
+
+    /**
+     * @param name название эффекта
+     * @return шаблон эффекта или null, если эффект не описан
+     */
+    public EffectTemplate get(String name) {
+        return templates.get(name);
+    }
+}
@@ -0,0 +1,32 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Загрузчик набора эффектов {@link ParticleEffects} для AssetManager.
+ * Шаблоны собираются один раз при загрузке ресурсов экрана
+ */
+public class ParticleEffectsLoader extends SynchronousAssetLoader<ParticleEffects, ParticleEffectsLoader.Parameters> {
+    public ParticleEffectsLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public ParticleEffects load(AssetManager assetManager, String fileName, FileHandle file, Parameters parameter) {
+        return ParticleEffects.load(file);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        return null;
+    }
+
+    public static class Parameters extends AssetLoaderParameters<ParticleEffects> {
+    }
+}
@@ -0,0 +1,191 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+
+import java.util.Arrays;
+
+/**
+ * Таблица градиентов (рамп) цвета, прозрачности и размера частиц.
+ * Каждая рампа - строка из {@link #RESOLUTION} значений (r, g, b, a, масштаб), заранее посчитанных
+ * по нескольким опорным точкам при загрузке эффектов. Частица хранит только номер рампы и долю прожитого времени,
+ * а цвет и масштаб на текущий момент берутся из таблицы, поэтому градиент из любого количества точек
+ * стоит столько же, сколько переход из начального состояния в конечное.
+ * Для каждой рампы также заранее находится доля времени, после которой частица уже не будет видна
+ * Для отрисовки на видеокарте таблица переносится в текстуру {@link #createTexture()}
+ * Частицы-объекты из пула берут из рампы только начальное и конечное состояние, поэтому рампы из более чем двух точек
+ * поддерживает только система частиц {@link ParticleSystem} (см. {@link #getMultiStopCount()})
+ */
+public class ParticleRamps {
+    /**
+     * Количество значений в одной рампе
+     */
+    public static final int RESOLUTION = 32;
+    /**
+     * Количество float на одно значение (r, g, b, a, масштаб)
+     */
+    static final int STRIDE = 5;
+    /**
+     * Количество float одной рампы
+     */
+    static final int ROW_SIZE = RESOLUTION * STRIDE;
+    /**
+     * Наибольший масштаб, который можно записать в текстуру (масштаб хранится в доле от этого значения)
+     */
+    public static final float SIZE_RANGE = 4.0f;
+    /**
+     * Прозрачность, ниже которой частица не видна (меньше одного уровня из 255)
+     */
+    public static final float MIN_ALPHA = 1.0f / 255.0f;
+    /**
+     * Масштаб, ниже которого частица не видна (меньше половины пикселя для изображения 16 пикселей)
+     */
+    public static final float MIN_SCALE = 1.0f / 32.0f;
+    /**
+     * Значения всех рамп подряд
+     */
+    float[] table;
+    /**
+     * Доля прожитого времени, начиная с которой частица с рампой не видна до конца жизни (больше 1 - видна всегда)
+     */
+    float[] invisibleFrom;
+    /**
+     * Количество рамп
+     */
+    private int count;
+    /**
+     * Количество рамп из более чем двух опорных точек
+     */
+    private int multiStopCount;
+
+    public ParticleRamps() {
+        this.table = new float[ROW_SIZE * 8];
+        this.invisibleFrom = new float[8];
+    }
+
+    /**
+     * Добавление рампы из двух точек (начальное и конечное состояние)
+     *
+     * @return номер рампы
+     */
+    public int add(float size1, float size2,
+                   float r1, float g1, float b1, float a1,
+                   float r2, float g2, float b2, float a2) {
+        return add(new float[]{0.0f, 1.0f},
+            new float[]{r1, g1, b1, a1, r2, g2, b2, a2},
+            new float[]{size1, size2});
+    }
+
+    /**
+     * Добавление рампы из нескольких опорных точек. Между точками значения меняются линейно
+     *
+     * @param stops  доли прожитого времени опорных точек по возрастанию (первая - 0, последняя - 1)
+     * @param colors цвета и прозрачности точек (по 4 значения на точку)
+     * @param sizes  масштабы точек
+     * @return номер рампы
+     */
+    public int add(float[] stops, float[] colors, float[] sizes) {
+        if (stops.length == 0 || colors.length != stops.length * 4 || sizes.length != stops.length) {
+            throw new IllegalArgumentException("Ramp needs 4 color values and 1 size per stop");
+        }
+        if (count == invisibleFrom.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+            invisibleFrom = Arrays.copyOf(invisibleFrom, invisibleFrom.length * 2);
+        }
+        int row = count * ROW_SIZE;
+        int lastVisible = -1;
+        int stop = 0;
+        for (int s = 0; s < RESOLUTION; s++) {
+            float t = s / (float) (RESOLUTION - 1);
+            while (stop < stops.length - 2 && t > stops[stop + 1]) {
+                stop++;
+            }
+            int next = Math.min(stop + 1, stops.length - 1);
+            float span = stops[next] - stops[stop];
+            float k = span > 0.0f ? Math.min(Math.max((t - stops[stop]) / span, 0.0f), 1.0f) : 0.0f;
+            int k1 = stop * 4;
+            int k2 = next * 4;
+            int offset = row + s * STRIDE;
+            table[offset] = colors[k1] + (colors[k2] - colors[k1]) * k;
+            table[offset + 1] = colors[k1 + 1] + (colors[k2 + 1] - colors[k1 + 1]) * k;
+            table[offset + 2] = colors[k1 + 2] + (colors[k2 + 2] - colors[k1 + 2]) * k;
+            table[offset + 3] = colors[k1 + 3] + (colors[k2 + 3] - colors[k1 + 3]) * k;
+            table[offset + 4] = sizes[stop] + (sizes[next] - sizes[stop]) * k;
+            if (table[offset + 3] >= MIN_ALPHA && table[offset + 4] >= MIN_SCALE) {
+                lastVisible = s;
+            }
+        }
+        if (stops.length > 2) {
+            multiStopCount++;
+        }
+        invisibleFrom[count] = lastVisible == RESOLUTION - 1 ? 2.0f : (lastVisible + 1) / (float) (RESOLUTION - 1);
+        return count++;
+    }
+
+    /**
+     * Получение цвета, прозрачности и масштаба (линейно между соседними значениями рампы)
+     *
+     * @param ramp номер рампы
+     * @param age  доля прожитого времени
+     * @param out  массив из {@link #STRIDE} значений (r, g, b, a, масштаб)
+     */
+    public void sample(int ramp, float age, float[] out) {
+        float position = Math.min(Math.max(age, 0.0f), 1.0f) * (RESOLUTION - 1);
+        int s = Math.min((int) position, RESOLUTION - 2);
+        float k = position - s;
+        int offset = ramp * ROW_SIZE + s * STRIDE;
+        for (int c = 0; c < STRIDE; c++) {
+            out[c] = table[offset + c] + (table[offset + STRIDE + c] - table[offset + c]) * k;
+        }
+    }
+
+    /**
+     * Создание текстуры рамп: ширина - {@link #RESOLUTION}, в верхней половине строки цветов и прозрачностей,
+     * в нижней - масштабы (в красной компоненте, в доле от {@link #SIZE_RANGE})
+     *
+     * @return текстура с линейной фильтрацией
+     */
+    public Texture createTexture() {
+        int rows = Math.max(count, 1);
+        Pixmap pixmap = new Pixmap(RESOLUTION, rows * 2, Pixmap.Format.RGBA8888);
+        for (int r = 0; r < count; r++) {
+            for (int s = 0; s < RESOLUTION; s++) {
+                int offset = r * ROW_SIZE + s * STRIDE;
+                pixmap.setColor(clamp(table[offset]), clamp(table[offset + 1]),
+                    clamp(table[offset + 2]), clamp(table[offset + 3]));
+                pixmap.drawPixel(s, r);
+                pixmap.setColor(clamp(table[offset + 4] / SIZE_RANGE), 0.0f, 0.0f, 1.0f);
+                pixmap.drawPixel(s, rows + r);
+            }
+        }
+        Texture texture = new Texture(pixmap);
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        pixmap.dispose();
+        return texture;
+    }
+
+    private static float clamp(float value) {
+        return Math.min(Math.max(value, 0.0f), 1.0f);
+    }
+
+    /**
+     * @return доля прожитого времени, начиная с которой частица с рампой не видна (больше 1 - видна всегда)
+     */
+    public float getInvisibleFrom(int ramp) {
+        return invisibleFrom[ramp];
+    }
+
+    /**
+     * @return количество рамп из более чем двух опорных точек (частицы-объекты из пула свели бы их к двум точкам)
+     */
+    public int getMultiStopCount() {
+        return multiStopCount;
+    }
+
+    /**
+     * @return количество рамп
+     */
+    public int getCount() {
+        return count;
+    }
+}
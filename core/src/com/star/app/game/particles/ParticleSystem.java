@@ -0,0 +1,574 @@
+package com.star.app.game.particles;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.badlogic.gdx.graphics.GL20.GL_ONE_MINUS_SRC_ALPHA;
+import static com.badlogic.gdx.graphics.GL20.GL_SRC_ALPHA;
+
+/**
+ * Система частиц, хранящая частицы в параллельных массивах (structure of arrays).
+ * Координаты, скорости, доля прожитого времени и скорость старения частиц лежат в отдельных массивах float.
+ * Цвет, прозрачность и размер частица не хранит: они берутся по номеру рампы и доле прожитого времени
+ * из таблицы градиентов {@link ParticleRamps}, общей для всех частиц,
+ * живые частицы всегда занимают индексы [0; {@link #getCount()}), поэтому обновление и отрисовка
+ * идут по памяти подряд, без обращения к объектам и без вызовов методов.
+ * Создание частицы не создает объектов. Отжившая частица удаляется переносом последней частицы на ее место.
+ * Количество частиц ограничено: при заполнении новая частица занимает место частицы
+ * с наименьшим приоритетом, а среди равных - частицы, созданной раньше всех.
+ * Для этого частицы каждого приоритета связаны в очередь в порядке создания (массивы {@link #prev}, {@link #next}),
+ * поэтому выбор вытесняемой частицы не требует прохода по всем частицам
+ * Массивы доступны классам пакета (отрисовщикам). Система запоминает диапазон индексов, данные которых изменились
+ * при создании или переносе частиц, чтобы отрисовщик на видеокарте {@link GpuParticleRenderer} загружал только их
+ * Частицы за пределами видимой области {@link #setCullBounds} не рисуются, а частицы, которые до конца жизни
+ * останутся невидимыми {@link #isInvisible}, удаляются досрочно
+ */
+public class ParticleSystem {
+    /**
+     * Множитель цвета в режиме свечения за один проход (обычный проход плюс аддитивный дают удвоенный цвет)
+     */
+    public static final float GLOW = 2.0f;
+    /**
+     * Координаты по оси х
+     */
+    float[] x;
+    /**
+     * Координаты по оси у
+     */
+    float[] y;
+    /**
+     * Скорости по оси х
+     */
+    float[] vx;
+    /**
+     * Скорости по оси у
+     */
+    float[] vy;
+    /**
+     * Доля прожитого времени (от 0 до 1)
+     */
+    float[] age;
+    /**
+     * Скорость старения (величина, обратная максимальному времени жизни)
+     */
+    float[] ageRate;
+    /**
+     * Номера рамп
+     */
+    int[] ramp;
+    /**
+     * Таблица градиентов цвета, прозрачности и размера
+     */
+    private final ParticleRamps ramps;
+    /**
+     * Приоритеты частиц
+     */
+    private int[] priority;
+    /**
+     * Индекс предыдущей частицы того же приоритета в порядке создания (-1 - первая)
+     */
+    private int[] prev;
+    /**
+     * Индекс следующей частицы того же приоритета в порядке создания (-1 - последняя)
+     */
+    private int[] next;
+    /**
+     * Индексы первых (самых старых) частиц каждого приоритета (-1 - частиц с таким приоритетом нет)
+     */
+    private int[] head;
+    /**
+     * Индексы последних (самых новых) частиц каждого приоритета
+     */
+    private int[] tail;
+    /**
+     * Количество живых частиц
+     */
+    int count;
+    /**
+     * Максимальное количество частиц
+     */
+    private final int maxSize;
+    /**
+     * Наибольшее количество живых частиц
+     */
+    private int highWaterMark;
+    /**
+     * Количество частиц, занявших место живых частиц при заполненной системе
+     */
+    private int evictedCount;
+    /**
+     * Первый индекс, данные которого изменились с прошлой загрузки
+     */
+    private int dirtyFrom;
+    /**
+     * Индекс, следующий за последним измененным
+     */
+    private int dirtyTo;
+    /**
+     * Границы видимой области
+     */
+    private float cullMinX, cullMinY, cullMaxX, cullMaxY;
+    /**
+     * Количество частиц, пропущенных при последней отрисовке (вне видимой области)
+     */
+    private int culledCount;
+    /**
+     * Количество частиц, удаленных досрочно, т.к. до конца жизни они останутся невидимыми
+     */
+    private int retiredCount;
+
+    /**
+     * @param initialCapacity начальная вместимость массивов
+     * @param maxSize         максимальное количество частиц
+     * @param ramps           таблица градиентов
+     */
+    public ParticleSystem(int initialCapacity, int maxSize, ParticleRamps ramps) {
+        this.maxSize = maxSize;
+        this.ramps = ramps;
+        this.cullMinX = -Float.MAX_VALUE;
+        this.cullMinY = -Float.MAX_VALUE;
+        this.cullMaxX = Float.MAX_VALUE;
+        this.cullMaxY = Float.MAX_VALUE;
+        this.head = new int[0];
+        this.tail = new int[0];
+        allocate(Math.max(1, Math.min(initialCapacity, maxSize)));
+    }
+
+    /**
+     * Создание (или расширение с сохранением данных) массивов заданной вместимости
+     */
+    private void allocate(int capacity) {
+        x = resize(x, capacity);
+        y = resize(y, capacity);
+        vx = resize(vx, capacity);
+        vy = resize(vy, capacity);
+        age = resize(age, capacity);
+        ageRate = resize(ageRate, capacity);
+        ramp = ramp == null ? new int[capacity] : Arrays.copyOf(ramp, capacity);
+        priority = priority == null ? new int[capacity] : Arrays.copyOf(priority, capacity);
+        prev = prev == null ? new int[capacity] : Arrays.copyOf(prev, capacity);
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+    }
+
+    private static float[] resize(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * Метод для создания частицы (параметры совпадают с {@link com.star.app.game.controllers.ParticleController#setup})
+     * 1.Если массивы заполнены, они расширяются вдвое (но не больше {@link #maxSize}).
+     * 2.Если достигнут максимальный размер, выбирается частица, место которой займет новая {@link #findVictim()}.
+     * 3.Параметры записываются в массивы, частица добавляется в конец очереди своего приоритета
+     *
+     * @param timeMax  максимальное время жизни
+     * @param ramp     номер рампы в {@link ParticleRamps}
+     * @param priority приоритет частицы (неотрицательный, частицы с меньшим приоритетом вытесняются раньше)
+     */
+    public void spawn(float x, float y, float vx, float vy, float timeMax, int ramp, int priority) {
+        if (priority < 0) {
+            throw new IllegalArgumentException("Particle priority must not be negative: " + priority);
+        }
+        int i;
+        if (count < maxSize) {
+            if (count == this.x.length) {
+                allocate(Math.min(count * 2, maxSize));
+            }
+            i = count++;
+            if (count > highWaterMark) {
+                highWaterMark = count;
+            }
+        } else {
+            i = findVictim();
+            unlink(i);
+            evictedCount++;
+        }
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.age[i] = 0.0f;
+        this.ageRate[i] = 1.0f / timeMax;
+        this.ramp[i] = ramp;
+        this.priority[i] = priority;
+        link(i);
+        markDirty(i);
+    }
+
+    /**
+     * Добавление частицы в конец очереди ее приоритета (очереди для новых приоритетов создаются при первом обращении)
+     */
+    private void link(int index) {
+        int p = priority[index];
+        if (p >= head.length) {
+            int levels = head.length;
+            head = Arrays.copyOf(head, p + 1);
+            tail = Arrays.copyOf(tail, p + 1);
+            Arrays.fill(head, levels, p + 1, -1);
+            Arrays.fill(tail, levels, p + 1, -1);
+        }
+        prev[index] = tail[p];
+        next[index] = -1;
+        if (tail[p] == -1) {
+            head[p] = index;
+        } else {
+            next[tail[p]] = index;
+        }
+        tail[p] = index;
+    }
+
+    /**
+     * Удаление частицы из очереди ее приоритета
+     */
+    private void unlink(int index) {
+        int p = priority[index];
+        if (prev[index] == -1) {
+            head[p] = next[index];
+        } else {
+            next[prev[index]] = next[index];
+        }
+        if (next[index] == -1) {
+            tail[p] = prev[index];
+        } else {
+            prev[next[index]] = prev[index];
+        }
+    }
+
+    /**
+     * Расширение диапазона измененных индексов
+     */
+    private void markDirty(int index) {
+        if (dirtyFrom >= dirtyTo) {
+            dirtyFrom = index;
+            dirtyTo = index + 1;
+        } else {
+            dirtyFrom = Math.min(dirtyFrom, index);
+            dirtyTo = Math.max(dirtyTo, index + 1);
+        }
+    }
+
+    /**
+     * Пометка всех живых частиц как измененных
+     */
+    public void markAllDirty() {
+        dirtyFrom = 0;
+        dirtyTo = count;
+    }
+
+    /**
+     * @return первый индекс, данные которого изменились с прошлой загрузки
+     */
+    public int getDirtyFrom() {
+        return dirtyFrom;
+    }
+
+    /**
+     * @return индекс, следующий за последним измененным (не больше количества живых частиц)
+     */
+    public int getDirtyTo() {
+        return Math.min(dirtyTo, count);
+    }
+
+    /**
+     * Очистка диапазона измененных индексов (после загрузки)
+     */
+    public void clearDirty() {
+        dirtyFrom = 0;
+        dirtyTo = 0;
+    }
+
+    /**
+     * Поиск частицы с наименьшим приоритетом, а среди равных - созданной раньше всех:
+     * первая частица первой непустой очереди. Просматриваются только уровни приоритета, а не частицы
+     *
+     * @return индекс частицы
+     */
+    private int findVictim() {
+        for (int p = 0; p < head.length; p++) {
+            if (head[p] != -1) {
+                return head[p];
+            }
+        }
+        throw new IllegalStateException("Particle system is empty");
+    }
+
+    /**
+     * Метод для вычисления изменения состояния:
+     * 1.Перемещение всех частиц и увеличение их времени жизни {@link #integrate(int, int, float)}
+     * 2.Удаление отживших частиц {@link #compact()}
+     */
+    public void update(float dt) {
+        integrate(0, count, dt);
+        compact();
+    }
+
+    /**
+     * Параллельный вариант {@link #update(float)}:
+     * 1.Частицы делятся на порции, которые перемещаются в пуле потоков {@link ParticleTask}
+     * 2.После завершения всех порций отжившие частицы удаляются в текущем потоке {@link #compact()}
+     *
+     * @param dt        время, прошедшее с прошлого кадра
+     * @param pool      пул потоков
+     * @param chunkSize размер порции частиц для одной задачи
+     */
+    public void update(float dt, ForkJoinPool pool, int chunkSize) {
+        pool.invoke(new ParticleTask(this, 0, count, dt, chunkSize));
+        compact();
+    }
+
+    /**
+     * Перемещение частиц из диапазона и увеличение доли прожитого времени.
+     * Каждый массив проходится подряд простым циклом
+     *
+     * @param from номер первой частицы
+     * @param to   номер частицы, следующей за последней
+     * @param dt   время, прошедшее с прошлого кадра
+     */
+    public void integrate(int from, int to, float dt) {
+        float[] px = x;
+        float[] py = y;
+        float[] pvx = vx;
+        float[] pvy = vy;
+        float[] t = age;
+        float[] rate = ageRate;
+        for (int i = from; i < to; i++) {
+            px[i] += pvx[i] * dt;
+            py[i] += pvy[i] * dt;
+            t[i] += rate[i] * dt;
+        }
+    }
+
+    /**
+     * Удаление отживших частиц: на место каждой отжившей частицы переносится последняя живая частица.
+     * Так же удаляются частицы, которые до конца жизни останутся невидимыми: доля прожитого времени
+     * достигла заранее найденной для рампы границы {@link ParticleRamps#getInvisibleFrom}.
+     * Перенесенная частица проверяется на том же индексе, поэтому проход выполняется один раз
+     */
+    public void compact() {
+        float[] invisibleFrom = ramps.invisibleFrom;
+        int i = 0;
+        while (i < count) {
+            if (age[i] > 1.0f) {
+                remove(i);
+            } else if (age[i] >= invisibleFrom[ramp[i]]) {
+                retiredCount++;
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Проверка для частиц с начальным и конечным состоянием (частицы-объекты из пула), что частица не видна сейчас
+     * и не станет видна до конца жизни:
+     * прозрачность или масштаб уже почти нулевые и дальше не увеличиваются
+     *
+     * @param t  доля прожитого времени
+     * @param a1 начальная прозрачность
+     * @param a2 конечная прозрачность
+     * @param s1 начальный масштаб
+     * @param s2 конечный масштаб
+     * @return true, если частицу можно удалить
+     */
+    public static boolean isInvisible(float t, float a1, float a2, float s1, float s2) {
+        float alpha = a1 + (a2 - a1) * t;
+        if (alpha < ParticleRamps.MIN_ALPHA && a2 <= a1) {
+            return true;
+        }
+        float scale = s1 + (s2 - s1) * t;
+        return scale < ParticleRamps.MIN_SCALE && s2 <= s1;
+    }
+
+    /**
+     * Удаление частицы: она исключается из очереди своего приоритета, на ее место переносится последняя живая частица
+     */
+    private void remove(int index) {
+        unlink(index);
+        count--;
+        if (index != count) {
+            move(count, index);
+        }
+    }
+
+    /**
+     * Перенос частицы с одного индекса на другой (место в очереди приоритета сохраняется)
+     */
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        age[to] = age[from];
+        ageRate[to] = ageRate[from];
+        ramp[to] = ramp[from];
+        priority[to] = priority[from];
+        prev[to] = prev[from];
+        next[to] = next[from];
+        int p = priority[to];
+        if (prev[to] == -1) {
+            head[p] = to;
+        } else {
+            next[prev[to]] = to;
+        }
+        if (next[to] == -1) {
+            tail[p] = to;
+        } else {
+            prev[next[to]] = to;
+        }
+        markDirty(to);
+    }
+
+    /**
+     * Метод для отрисовки (тот же вид, что и у {@link com.star.app.game.controllers.ParticleController#render}):
+     * 1.Проход со смешиванием GL_ONE_MINUS_SRC_ALPHA
+     * 2.Проход с аддитивным смешиванием GL_ONE для усиления цвета
+     * Цвет и размер частицы берутся из таблицы рамп линейно между соседними значениями
+     *
+     * @param batch    батч
+     * @param region   изображение частицы
+     * @param size     размер изображения
+     */
+    public void render(SpriteBatch batch, TextureRegion region, float size) {
+        batch.setBlendFunction(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        culledCount = drawAll(batch, region, size, false);
+        batch.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+        batch.setBlendFunction(GL_SRC_ALPHA, GL20.GL_ONE);
+        drawAll(batch, region, size, true);
+        batch.setBlendFunction(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+    }
+
+    /**
+     * Метод для отрисовки в режиме свечения за один проход:
+     * шейдер свечения (shaders/particle_fragment.glsl) умножает цвет на прозрачность и на {@link #GLOW},
+     * а смешивание GL_ONE, GL_ONE_MINUS_SRC_ALPHA дает rgb * a * 2 + dst * (1 - a) - тот же результат,
+     * что и два прохода {@link #render(SpriteBatch, TextureRegion, float)}, при вдвое меньшем количестве вершин.
+     * Вид отличается: случайного увеличения частиц аддитивного прохода (мерцания) в этом режиме нет
+     *
+     * @param batch      батч
+     * @param region     изображение частицы
+     * @param size       размер изображения
+     * @param glowShader шейдер свечения
+     */
+    public void renderGlow(SpriteBatch batch, TextureRegion region, float size, ShaderProgram glowShader) {
+        if (count == 0) {
+            culledCount = 0;
+            return;
+        }
+        batch.setShader(glowShader);
+        glowShader.setUniformf("u_glow", GLOW);
+        batch.setBlendFunction(GL20.GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+        culledCount = drawAll(batch, region, size, false);
+        batch.setShader(null);
+        batch.setBlendFunction(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+    }
+
+    /**
+     * Отрисовка всех частиц одним проходом
+     *
+     * @param flicker случайно увеличивать некоторые частицы (мерцание на аддитивном проходе)
+     * @return количество частиц вне видимой области
+     */
+    private int drawAll(SpriteBatch batch, TextureRegion region, float size, boolean flicker) {
+        float half = size / 2.0f;
+        float[] table = ramps.table;
+        int culled = 0;
+        for (int i = 0; i < count; i++) {
+            float position = Math.min(age[i], 1.0f) * (ParticleRamps.RESOLUTION - 1);
+            int s = Math.min((int) position, ParticleRamps.RESOLUTION - 2);
+            float k = position - s;
+            int c = ramp[i] * ParticleRamps.ROW_SIZE + s * ParticleRamps.STRIDE;
+            int n = c + ParticleRamps.STRIDE;
+            float scale = table[c + 4] + (table[n + 4] - table[c + 4]) * k;
+            float extent = half * scale;
+            if (x[i] + extent < cullMinX || x[i] - extent > cullMaxX
+                || y[i] + extent < cullMinY || y[i] - extent > cullMaxY) {
+                culled++;
+                continue;
+            }
+            if (flicker && MathUtils.random(0, 300) < 3) {
+                scale *= 5;
+            }
+            batch.setColor(table[c] + (table[n] - table[c]) * k, table[c + 1] + (table[n + 1] - table[c + 1]) * k,
+                table[c + 2] + (table[n + 2] - table[c + 2]) * k, table[c + 3] + (table[n + 3] - table[c + 3]) * k);
+            batch.draw(region, x[i] - half, y[i] - half, half, half, size, size, scale, scale, 0);
+        }
+        return culled;
+    }
+
+    /**
+     * Удаление всех частиц
+     */
+    public void clear() {
+        count = 0;
+        Arrays.fill(head, -1);
+        Arrays.fill(tail, -1);
+    }
+
+    /**
+     * Установка границ видимой области: частицы за ее пределами не рисуются на батче
+     * (при отрисовке на видеокарте они отсекаются самой видеокартой)
+     */
+    public void setCullBounds(float minX, float minY, float maxX, float maxY) {
+        this.cullMinX = minX;
+        this.cullMinY = minY;
+        this.cullMaxX = maxX;
+        this.cullMaxY = maxY;
+    }
+
+    /**
+     * @return количество частиц, пропущенных при последней отрисовке на батче
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * @return количество частиц, удаленных досрочно
+     */
+    public int getRetiredCount() {
+        return retiredCount;
+    }
+
+    /**
+     * @return таблица градиентов
+     */
+    public ParticleRamps getRamps() {
+        return ramps;
+    }
+
+    /**
+     * @return количество живых частиц
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return наибольшее количество живых частиц
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * @return количество частиц, занявших место живых частиц при заполненной системе
+     */
+    public int getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * @return максимальное количество частиц
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
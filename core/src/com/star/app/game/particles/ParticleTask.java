@@ -0,0 +1,58 @@
+package com.star.app.game.particles;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Задача для параллельного перемещения частиц {@link ParticleSystem#integrate} в пуле потоков ForkJoinPool.
+ * Диапазон частиц делится пополам, пока не станет меньше размера порции.
+ * Каждая подзадача меняет только свои частицы, поэтому удаление отживших частиц
+ * выполняется после завершения всех подзадач
+ */
+public class ParticleTask extends RecursiveAction {
+    /**
+     * Система частиц
+     */
+    private final ParticleSystem system;
+    /**
+     * Номер первой частицы
+     */
+    private final int from;
+    /**
+     * Номер частицы, следующей за последней
+     */
+    private final int to;
+    /**
+     * Время, прошедшее с прошлого кадра
+     */
+    private final float dt;
+    /**
+     * Размер порции, которая обновляется без дальнейшего деления
+     */
+    private final int chunkSize;
+
+    /**
+     * @param system    система частиц
+     * @param from      номер первой частицы
+     * @param to        номер частицы, следующей за последней
+     * @param dt        время, прошедшее с прошлого кадра
+     * @param chunkSize размер порции
+     */
+    public ParticleTask(ParticleSystem system, int from, int to, float dt, int chunkSize) {
+        this.system = system;
+        this.from = from;
+        this.to = to;
+        this.dt = dt;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= chunkSize) {
+            system.integrate(from, to, dt);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ParticleTask(system, from, middle, dt, chunkSize),
+            new ParticleTask(system, middle, to, dt, chunkSize));
+    }
+}
@@ -11,6 +11,8 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
 import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.star.app.game.particles.ParticleEffects;
+import com.star.app.game.particles.ParticleEffectsLoader;
 import com.star.app.screen.ScreenManager.ScreenType;
 
 /**
@@ -38,6 +40,10 @@ public class Assets {
      * Ссылка на атлас текстур
      */
     private TextureAtlas textureAtlas;
+    /**
+     * Ссылка на набор шаблонов эффектов (загружается только для игрового экрана)
+     */
+    private ParticleEffects particleEffects;
 
     /**
      * Возвращает загруженный атлас текстур
@@ -46,6 +52,13 @@ public class Assets {
         return textureAtlas;
     }
 
+    /**
+     * Возвращает загруженный набор шаблонов эффектов
+     */
+    public ParticleEffects getParticleEffects() {
+        return particleEffects;
+    }
+
     /**
      * Возвращает AssetManager, с помощью которого можно управлять ресурсами
      */
@@ -58,6 +71,7 @@ public class Assets {
      */
     private Assets() {
         assetManager = new AssetManager();
+        assetManager.setLoader(ParticleEffects.class, new ParticleEffectsLoader(new InternalFileHandleResolver()));
     }
 
     /**
@@ -87,6 +101,7 @@ public class Assets {
                 assetManager.load("audio/explosion.mp3", Sound.class);
                 assetManager.load("audio/money.mp3", Sound.class);
                 assetManager.load("audio/nextlevel.mp3", Sound.class);
+                assetManager.load(ParticleEffects.DEFAULT_PATH, ParticleEffects.class);
                 createStandardFont(32);
                 createStandardFont(72);
                 break;
@@ -126,10 +141,12 @@ public class Assets {
     }
 
     /**
-     * Получение ссылки на атлас текстур
+     * Получение ссылок на атлас текстур и набор шаблонов эффектов
      */
     public void makeLinks() {
         textureAtlas = assetManager.get("images/game.pack", TextureAtlas.class);
+        particleEffects = assetManager.isLoaded(ParticleEffects.DEFAULT_PATH)
+            ? assetManager.get(ParticleEffects.DEFAULT_PATH, ParticleEffects.class) : null;
     }
 
     /**